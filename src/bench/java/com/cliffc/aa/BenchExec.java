@@ -0,0 +1,10 @@
+package com.cliffc.aa;
+
+// Benchmark hook into a full compile, without widening TypeEnv
+public abstract class BenchExec {
+  // Compile the program; return the printed H-M type, or "err"
+  public static String hm( String prog ) {
+    TypeEnv te = Exec.go(Env.file_scope(Env.top_scope()),"args",prog);
+    return te._errs!=null ? "err" : te._hmt.p();
+  }
+}
@@ -0,0 +1,221 @@
+package com.cliffc.aa.HM;
+
+import com.cliffc.aa.*;
+import com.cliffc.aa.tvar.DepNodes;
+import com.cliffc.aa.tvar.TV2;
+import com.cliffc.aa.util.Ary;
+import com.cliffc.aa.util.SB;
+import org.junit.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Differential benchmark across the inference engines.  Runs a shared corpus
+// through HM6..HM9, HM and the integrated TV2/Combo engine, and reports
+// best-of time, type-variable allocations and worklist pops; for Combo also
+// TV2 dependency sets made or copied (DepNodes).  Agreement is
+// shown as one letter per HM engine: engines with the same letter printed the
+// same type, up to renaming type variables ('-' skipped, 'x' failed).  Later
+// generations print base types more sharply, so letters can differ without a
+// bug.  HM1..HM5 build their ASTs directly in Java
+// and have no parser, so they are not included.
+//
+// Programs are written in the HM core syntax, plus an AA-syntax twin for
+// Combo (null if there is no sensible twin).  Engines with different
+// primitive names get a textual rename; engines without structs skip those
+// programs.  Run with asserts OFF: the prototypes carry O(n^2) asserts.
+//
+// With -orders, instead runs the TestHM corpus on the HM engine under each
+// worklist pop order, and reports total pops and tests passing.
+//
+//   make hm_bench, or: java -cp ... com.cliffc.aa.HM.BenchHM [reps | -orders]
+public class BenchHM {
+  private static abstract class Engine {
+    final String _name;
+    Engine( String name ) { _name=name; }
+    String adapt( String prog ) { return prog; } // Null if unsupported
+    abstract void reset();
+    abstract String run( String prog ); // Returns the printed type
+    abstract int tvars();
+    abstract int pops ();
+  }
+
+  private static final Engine[] ENGINES = new Engine[] {
+    new Engine("HM6") {
+      @Override String adapt(String p) { return p.contains("@{") || p.contains("triple") ? null : p.replace("(if ","(if/else ").replace("(?0 ","(==0 "); }
+      @Override void reset() { HM6.reset(); }
+      @Override String run(String p) { return HM6.hm(p).p(); }
+      @Override int tvars() { return HM6.T2S; }
+      @Override int pops () { return HM6.ITERS; }
+    },
+    new Engine("HM7") {
+      @Override void reset() { HM7.reset(); }
+      @Override String run(String p) { return HM7.hm(p).p(); }
+      @Override int tvars() { return HM7.T2S; }
+      @Override int pops () { return HM7.ITERS; }
+    },
+    new Engine("HM8") {
+      @Override void reset() { HM8.reset(); }
+      @Override String run(String p) { return HM8.hm(p)._t.p(); }
+      @Override int tvars() { return HM8.T2S; }
+      @Override int pops () { return HM8.ITERS; }
+    },
+    new Engine("HM9") {
+      @Override void reset() { HM9.reset(); }
+      @Override String run(String p) { return HM9.hm(p)._hmt.p(); }
+      @Override int tvars() { return HM9.T2S; }
+      @Override int pops () { return HM9.ITERS; }
+    },
+    new Engine("HM") {
+      @Override String adapt(String p) { return p.replace("(?0 ","(eq0 "); }
+      @Override void reset() { HM.reset(); }
+      @Override String run(String p) { return HM.hm(p)._hmt.p(); }
+      @Override int tvars() { return HM.T2S; }
+      @Override int pops () { return HM.ITERS; }
+    },
+  };
+  // The integrated engine, reached through the full AA compiler
+  private static int COMBO_TV2S, COMBO_DEPS;
+  private static String combo( String prog ) {
+    int tv2s = TV2.allocs(), deps = DepNodes.ALLOCS+DepNodes.COPIES;
+    String rez = BenchExec.hm(prog);
+    COMBO_TV2S = TV2.allocs()-tv2s;
+    COMBO_DEPS = DepNodes.ALLOCS+DepNodes.COPIES-deps;
+    return rez;
+  }
+
+  // Corpus: name, HM program, AA twin
+  private static final Ary<String[]> CORPUS = new Ary<>(new String[1][],0);
+  private static void add( String name, String hm, String aa ) { CORPUS.push(new String[]{name,hm,aa}); }
+  static {
+    add("id_pair" ,"id={x->x}; (pair (id 3) (id \"abc\"))", "id={x->x}; (id(3),id(\"abc\"))");
+    add("fact"    ,"fact = { n -> (if (?0 n) 1 (* n (fact (dec n))))}; fact", "fact = { n -> n==0 ? 1 : n*fact(n-1) }; fact");
+    add("selfapp" ,"{ f -> (f f) }", null);
+    add("compose" ,"{ f g -> { x -> (f (g x)) } }", "{ f g -> { x -> f(g(x)) } }");
+    add("struct"  ,"x = @{ a = 3, b = \"abc\" }; (pair x.a x.b)", "x = @{ a = 3; b = \"abc\" }; (x.a,x.b)");
+    for( int n : new int[]{10,40,160} ) {
+      add("lets"+n, lets(n,true), lets(n,false));
+      add("apply"+n, applies(n,true), applies(n,false));
+      add("struct"+n, struct(n,true), struct(n,false));
+      add("rec"+n, recs(n,true), recs(n,false));
+    }
+  }
+  // Deep let-chain: each function calls the one before
+  private static String lets( int n, boolean hm ) {
+    SB sb = new SB().p("f0 = {x -> x}; ");
+    for( int i=1; i<n; i++ )
+      sb.p('f').p(i).p(hm ? " = {x -> (f" : " = {x -> f").p(i-1).p(hm ? " x)}; " : "(x)}; ");
+    String f = "f"+(n-1);
+    return (hm ? sb.p("(pair (").p(f).p(" 3) (").p(f).p(" \"abc\"))") : sb.p('(').p(f).p("(3),").p(f).p("(\"abc\"))")).toString();
+  }
+  // Many nested Applys of one polymorphic function
+  private static String applies( int n, boolean hm ) {
+    SB sb = new SB().p("id = {x -> x}; ");
+    for( int i=0; i<n; i++ ) sb.p(hm ? "(id " : "id(");
+    sb.p('3');
+    for( int i=0; i<n; i++ ) sb.p(')');
+    return sb.toString();
+  }
+  // Wide struct, read at both ends
+  private static String struct( int n, boolean hm ) {
+    SB sb = new SB().p("s = @{ ");
+    for( int i=0; i<n; i++ ) sb.p('f').p(i).p(" = ").p(i).p(hm ? ", " : "; ");
+    sb.unchar(2).p(" }; ");
+    return (hm ? sb.p("(pair s.f0 s.f").p(n-1).p(')') : sb.p("(s.f0,s.f").p(n-1).p(')')).toString();
+  }
+  // Many recursive functions, each also calling the one before
+  private static String recs( int n, boolean hm ) {
+    SB sb = new SB();
+    for( int i=0; i<n; i++ ) {
+      String f = "r"+i, g = i==0 ? f : "r"+(i-1);
+      if( hm ) sb.p(f).p(" = { n -> (if (?0 n) (").p(g).p(" 0) (* n (").p(f).p(" (dec n))))}; ");
+      else     sb.p(f).p(" = { n -> n==0 ? ").p(g).p("(0) : n*").p(f).p("(n-1) }; ");
+    }
+    return sb.p("r").p(n-1).toString();
+  }
+
+  // Rename type variables (A, $B, V123) in order of first appearance
+  private static final Pattern TVAR = Pattern.compile("\\$?\\b([A-Z]|V[0-9]+)\\b");
+  private static String canon( String s ) {
+    HashMap<String,String> names = new HashMap<>();
+    Matcher m = TVAR.matcher(s);
+    StringBuilder sb = new StringBuilder();
+    while( m.find() )
+      m.appendReplacement(sb,names.computeIfAbsent(m.group(1),k -> "V"+names.size()));
+    return m.appendTail(sb).toString();
+  }
+
+  // Total worklist pops per pop order over the TestHM corpus
+  private static void orders() throws IllegalAccessException {
+    String[] names = new String[]{"LIFO","FIFO","RANDOM","DEPTH"};
+    TestHM test = new TestHM();
+    for( int order=0; order<names.length; order++ ) {
+      HM.WORK_ORDER = order;
+      long pops=0;  int pass=0, fail=0;
+      for( Method m : TestHM.class.getDeclaredMethods() ) {
+        Test ann = m.getAnnotation(Test.class);
+        if( ann==null ) continue;
+        HM.reset();  HM.ITERS=0;
+        Class<? extends Throwable> expect = ann.expected();
+        try { m.invoke(test);  if( expect==Test.None.class ) pass++; else fail++; }
+        catch( InvocationTargetException e ) { if( expect.isInstance(e.getCause()) ) pass++; else fail++; }
+        pops += HM.ITERS;
+      }
+      System.out.println(String.format("%-8s pops %8d   pass %3d   fail %3d",names[order],pops,pass,fail));
+    }
+    HM.WORK_ORDER = HM.LIFO;
+  }
+
+  public static void main( String[] args ) throws IllegalAccessException {
+    if( args.length > 0 && args[0].equals("-orders") ) { orders(); return; }
+    int reps = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+    SB sb = new SB().p(String.format("%-10s","program"));
+    for( Engine e : ENGINES ) sb.p(String.format("%24s",e._name));
+    System.out.println(sb.p(String.format("%30s","Combo")).p("   agree").toString());
+    sb = new SB().p(String.format("%-10s",""));
+    for( Engine e : ENGINES ) sb.p(String.format("%24s","ms/tvars/pops"));
+    sb.p(String.format("%30s","ms/tvars/pops/deps"));
+    System.out.println(sb.toString());
+    for( String[] prog : CORPUS ) {
+      sb = new SB().p(String.format("%-10s",prog[0]));
+      SB agree = new SB();
+      Ary<String> rezs = new Ary<>(String.class);
+      for( Engine e : ENGINES ) {
+        String p = e.adapt(prog[1]);
+        if( p==null ) { sb.p(String.format("%24s","-")); agree.p('-'); continue; }
+        long best = Long.MAX_VALUE;  String rez=null;
+        try {
+          for( int r=0; r<reps; r++ ) {
+            e.reset();
+            long t0 = System.nanoTime();
+            rez = e.run(p);
+            best = Math.min(best,System.nanoTime()-t0);
+          }
+          sb.p(String.format("%24s",String.format("%.2f/%d/%d",best/1e6,e.tvars(),e.pops())));
+        } catch( Throwable t ) { rez=null; sb.p(String.format("%24s","fail")); }
+        if( rez==null ) { agree.p('x'); continue; }
+        final String crez = canon(rez);
+        int idx = rezs.find(crez::equals);
+        if( idx==-1 ) { idx=rezs._len; rezs.push(crez); }
+        agree.p((char)('a'+idx));
+      }
+      // Combo: types print differently, so it is not part of the agreement check
+      if( prog[2]==null ) sb.p(String.format("%30s","-"));
+      else {
+        long best = Long.MAX_VALUE;
+        try {
+          for( int r=0; r<reps; r++ ) {
+            long t0 = System.nanoTime();
+            combo(prog[2]);
+            best = Math.min(best,System.nanoTime()-t0);
+          }
+          sb.p(String.format("%30s",String.format("%.2f/%d/%d/%d",best/1e6,COMBO_TV2S,Combo.POPS,COMBO_DEPS)));
+        } catch( Throwable t ) { sb.p(String.format("%30s","fail")); }
+      }
+      System.out.println(sb.p("   ").p(agree.toString()).toString());
+    }
+  }
+}
@@ -0,0 +1,69 @@
+package com.cliffc.aa.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// Throughput of the lock-free maps against ConcurrentHashMap.  Each phase runs
+// on T threads over disjoint key ranges: 'put' fills fresh maps from empty
+// (so includes every resize), 'get' reads a filled map, 'mix' is 90% get and
+// 10% put/remove churn.  Reports best-of-reps Mops/sec.
+//
+//   java -cp ... com.cliffc.aa.util.BenchNBHM [threads [reps]]
+//   make nbhm_bench    # 1, 2, 4 and 8 threads
+public class BenchNBHM {
+  private static final int N = 1<<20;   // Keys per thread
+  private static final Long[] KEYS = new Long[N*8];
+  static { for( int i=0; i<KEYS.length; i++ ) KEYS[i] = (long)i*0x9E3779B9L; }
+
+  private interface Op { void run( int tid ); }
+  // Run op on all threads at once, return best-of-reps Mops/sec
+  private static double time( int threads, int reps, Runnable setup, Op op ) throws InterruptedException {
+    double best = 0;
+    for( int r=0; r<reps; r++ ) {
+      setup.run();
+      Thread[] ts = new Thread[threads];
+      for( int t=0; t<threads; t++ ) { final int tid=t; ts[t] = new Thread(() -> op.run(tid)); }
+      long t0 = System.nanoTime();
+      for( Thread t : ts ) t.start();
+      for( Thread t : ts ) t.join();
+      best = Math.max(best,(double)N*threads/(System.nanoTime()-t0)*1e3);
+    }
+    return best;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static void bench( String name, Supplier<Map<Long,Long>> mk, int threads, int reps ) throws InterruptedException {
+    final Map<Long,Long>[] m = new Map[1];
+    double put = time(threads,reps,() -> m[0]=mk.get(), tid -> {
+        Map<Long,Long> map = m[0];
+        for( int i=tid*N; i<(tid+1)*N; i++ ) map.put(KEYS[i],KEYS[i]);
+      });
+    double get = time(threads,reps,() -> {}, tid -> {
+        Map<Long,Long> map = m[0];  long sum=0;
+        for( int i=tid*N; i<(tid+1)*N; i++ ) sum += map.get(KEYS[i]);
+        if( sum==42 ) System.out.print("");
+      });
+    double mix = time(threads,reps,() -> {}, tid -> {
+        Map<Long,Long> map = m[0];  long sum=0;
+        for( int i=tid*N; i<(tid+1)*N; i++ ) {
+          if( (i&15)==0 ) { map.remove(KEYS[i]); map.put(KEYS[i],KEYS[i]); }
+          else { Long v = map.get(KEYS[i]); if( v!=null ) sum += v; }
+        }
+        if( sum==42 ) System.out.print("");
+      });
+    System.out.println(String.format("%-24s put %7.2f   get %7.2f   mix %7.2f",name,put,get,mix));
+  }
+
+  public static void main( String[] args ) throws InterruptedException {
+    int threads = args.length > 0 ? Integer.parseInt(args[0]) : 1;
+    int reps    = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+    assert threads <= 8;
+    System.out.println("threads "+threads+", Mops/sec");
+    for( int i=0; i<2; i++ ) {  // Second round is the warm one
+      bench("NonBlockingHashMap"    ,NonBlockingHashMap::new    ,threads,reps);
+      bench("NonBlockingHashMapLong",NonBlockingHashMapLong::new,threads,reps);
+      bench("ConcurrentHashMap"     ,ConcurrentHashMap::new     ,threads,reps);
+    }
+  }
+}
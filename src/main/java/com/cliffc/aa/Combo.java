@@ -2,9 +2,16 @@ package com.cliffc.aa;
 
 import com.cliffc.aa.node.CallNode;
 import com.cliffc.aa.node.Node;
+import com.cliffc.aa.node.SCCWork;
 import com.cliffc.aa.node.Work;
+import com.cliffc.aa.type.Type;
+import com.cliffc.aa.type.TypeMem;
+import com.cliffc.aa.util.Ary;
 import com.cliffc.aa.util.VBitSet;
 
+import java.util.Arrays;
+import java.util.Objects;
+
 import static com.cliffc.aa.AA.unimpl;
 
 /** Combined Global Constant Propagation and Hindly-Milner with extensions.
@@ -92,22 +99,54 @@ type on a per-call-site basis.
  */
 public abstract class Combo {
   public static final boolean DO_HM=true;
+  public static boolean CHECK=false; // Check every incremental opto against a full re-run
+  public static Ary<String> MISMATCHES; // Nodes differing from the full re-run in the last checked opto; null if none checked
+  public static int POPS;       // Worklist pops in the last opto
+  public static int POPS_FLOW, POPS_LIVE, POPS_HM; // Per-analysis runs in the last opto
+  public static int RESETS;     // Nodes reset in the last opto
+
+  // Full analysis from the most optimistic types.  Returns a snapshot of the
+  // final graph for a following incremental pass.
+  public static Snap opto() { return opto(null); }
+
+  // Incremental analysis after the graph was rewritten by a pessimistic pass
+  // following a full opto.  Only nodes which can see a rewrite are reset; the
+  // rest keep their prior values and liveness.  Reverts to a full analysis if
+  // most values would be reset anyways.  Type-vars are not reset in either
+  // case, as walk_initype never did: the VStack nongen sets and FreshNode deps
+  // hold the TV2s built by the parse, so every pass continues unifying from
+  // the prior one.  CHECK compares the result, type-vars included, against a
+  // full re-run from the same starting type-vars.
+  public static void reopto( Snap snap ) { opto(snap); }
 
-  public static void opto() {
+  private static Snap opto( Snap snap ) {
     Env.GVN._opt_mode = GVNGCM.Mode.Opto;
-    // General worklist algorithm
-    Work work = new Work("Combo",false) { @Override public Node apply(Node n) { throw unimpl(); } };
+    // General worklist algorithm, pulling work from call-graph SCCs bottom-up
+    SCCWork work = new SCCWork("Combo");
     // Collect unresolved calls, and verify they get resolved.
     Work ambi = new Work("Ambi",false) { @Override public Node apply(Node n) { throw unimpl(); } };
 
     // Set all values to ALL and lives to DEAD, their most optimistic types.
-    // Set all type-vars to Leafs.
-    Env.START.walk_initype(work);
+    work.init();
+    boolean incremental = snap!=null && snap.reset(work);
+    if( !incremental ) Env.START.walk_initype(work);
+    RESETS = work.len();
     assert Env.START.more_flow(work,false)==0; // Initial conditions are correct
 
+    analyze(work,ambi);
+    if( CHECK ) MISMATCHES = incremental ? check(work,ambi) : null; // Same as a full re-run
+
+    assert Env.START.more_flow(work,false)==0; // Final conditions are correct
+    Snap next = snap==null ? new Snap() : null; // Record for the next incremental pass
+    Env.START.walk_opt(new VBitSet());
+    return next;
+  }
+
+  private static void analyze( SCCWork work, Work ambi ) {
     // Repeat, if we remove some ambiguous choices, and keep falling until the
     // graph stabilizes without ambiguity.
     int cnt=0;                  // Debug counter
+    work._pops_flow = work._pops_live = work._pops_hm = 0;
     while( !work.isEmpty() ) {
       // Analysis phase.
       // Work down list until all reachable nodes types quit falling
@@ -116,15 +155,9 @@ public abstract class Combo {
         cnt++; assert cnt < 100000; // Infinite loop check
         if( n.is_dead() ) continue; // Can be dead functions after removing ambiguous calls
 
-        // Forwards flow
-        n.combo_forwards(work);
-
-        // Backwards flow
-        n.combo_backwards(work);
-
-        // H-M unification
-        if( DO_HM )
-          n.combo_unify(work);
+        // Forwards flow, backwards flow and H-M unification; only the
+        // analyses n was pushed for.
+        work.apply(n);
 
         // Check for resolving an unresolved call
         n.combo_resolve(ambi);
@@ -145,9 +178,8 @@ public abstract class Combo {
           if( !((CallNode)call)._not_resolved_by_gcp )
             ((CallNode)work.add(call))._not_resolved_by_gcp = true;
     }
-
-    assert Env.START.more_flow(work,false)==0; // Final conditions are correct
-    Env.START.walk_opt(new VBitSet());
+    POPS = cnt;
+    POPS_FLOW = work._pops_flow;  POPS_LIVE = work._pops_live;  POPS_HM = work._pops_hm;
   }
 
   private static void remove_ambi(Work ambi, Work work) {
@@ -160,4 +192,109 @@ public abstract class Combo {
       }
     }
   }
+
+  // Graph as of the end of a full opto, by node uid: the node, its inputs,
+  // value and liveness.  Held by the compile for one incremental pass.
+  public static class Snap {
+    private final Ary<Node   > _nodes = new Ary<>(new Node   [1]  ,0);
+    private final Ary<Node[] > _defs  = new Ary<>(new Node   [1][],0);
+    private final Ary<Type   > _vals  = new Ary<>(new Type   [1]  ,0);
+    private final Ary<TypeMem> _lives = new Ary<>(new TypeMem[1]  ,0);
+
+    private Snap() {
+      for( Node n : reach() ) {
+        _nodes.setX(n._uid,n);
+        _defs .setX(n._uid,Arrays.copyOf(n._defs._es,n._defs._len));
+        _vals .setX(n._uid,n._val );
+        _lives.setX(n._uid,n._live);
+      }
+    }
+
+    // Rewritten since the snapshot: a new node (possibly reusing a uid), new
+    // inputs, or types changed by the pessimistic pass.
+    private boolean rewritten( Node n ) {
+      if( _nodes.atX(n._uid)!=n || _vals.atX(n._uid)!=n._val || _lives.atX(n._uid)!=n._live )
+        return true;
+      Node[] defs = _defs.at(n._uid);
+      if( defs.length != n._defs._len ) return true;
+      for( int i=0; i<defs.length; i++ )
+        if( defs[i]!=n.in(i) )
+          return true;
+      return false;
+    }
+
+    // Reset values forwards from every rewritten node, and liveness backwards
+    // from every rewritten or value-reset node, since liveness reads values.
+    // Everything reset goes on the worklist.  Liveness flows backwards from
+    // the program exit, so nearly all liveness is reset; the savings come from
+    // keeping values.  If more than half the values would be reset, reset
+    // nothing and return false for a full analysis.
+    private boolean reset( SCCWork work ) {
+      Ary<Node> all = reach();
+      Ary<Node> fwd = new Ary<>(new Node[1],0), bwd = new Ary<>(new Node[1],0);
+      VBitSet fvisit = new VBitSet(), bvisit = new VBitSet();
+      for( Node n : all )
+        if( rewritten(n) ) {
+          fvisit.set(n._uid);  fwd.push(n);
+          bvisit.set(n._uid);  bwd.push(n);
+        }
+      for( int i=0; i<fwd._len; i++ ) {
+        Node n = fwd.at(i);
+        if( !bvisit.tset(n._uid) ) bwd.push(n);
+        for( Node use : n._uses ) if( !fvisit.tset(use._uid) ) fwd.push(use);
+      }
+      for( int i=0; i<bwd._len; i++ )
+        for( Node def : bwd.at(i)._defs )
+          if( def != null && !bvisit.tset(def._uid) ) bwd.push(def);
+      if( fwd._len*2 > all._len ) return false;
+      for( Node n : fwd ) {
+        n._val = Type.ANY;      // Highest value
+        if( n instanceof CallNode ) ((CallNode)n)._not_resolved_by_gcp = false; // Try again
+      }
+      for( Node n : bwd )
+        work.add(n)._live = TypeMem.DEAD; // Not alive
+      return true;
+    }
+  }
+
+  // All nodes reachable from START
+  private static Ary<Node> reach() {
+    Ary<Node> all = new Ary<>(new Node[1],0);
+    VBitSet visit = new VBitSet();
+    visit.set(Env.START._uid);
+    all.push(Env.START);
+    for( int i=0; i<all._len; i++ ) {
+      Node n = all.at(i);
+      for( Node use : n._uses ) if( !visit.tset(use._uid) ) all.push(use);
+      for( Node def : n._defs ) if( def != null && !visit.tset(def._uid) ) all.push(def);
+    }
+    return all;
+  }
+
+  // Re-run from scratch after an incremental pass, and return every node
+  // with a different value, liveness or type-var.
+  private static Ary<String> check( SCCWork work, Work ambi ) {
+    Ary<Node> all = reach();
+    Type   [] vals  = new Type   [all._len];
+    TypeMem[] lives = new TypeMem[all._len];
+    String [] tvars = new String [all._len];
+    for( int i=0; i<all._len; i++ ) {
+      Node n = all.at(i);
+      vals[i] = n._val;  lives[i] = n._live;  tvars[i] = n.has_tvar() ? n.tvar().p() : null;
+    }
+    int pops=POPS, flow=POPS_FLOW, live=POPS_LIVE, hm=POPS_HM;
+    ambi.clear();
+    Env.START.walk_initype(work);
+    analyze(work,ambi);
+    Ary<String> errs = new Ary<>(String.class);
+    for( int i=0; i<all._len; i++ ) {
+      Node n = all.at(i);
+      if( n.is_dead() ) continue;
+      String tvar = n.has_tvar() ? n.tvar().p() : null;
+      if( vals[i]!=n._val || lives[i]!=n._live || !Objects.equals(tvars[i],tvar) )
+        errs.push(n+" "+vals[i]+" "+lives[i]+" "+tvars[i]+", full "+n._val+" "+n._live+" "+tvar);
+    }
+    POPS=pops;  POPS_FLOW=flow;  POPS_LIVE=live;  POPS_HM=hm; // Report the incremental pass
+    return errs;
+  }
 }
@@ -39,19 +39,19 @@ public class Env implements AutoCloseable {
   private Env(  ) {
     _par = null;
     _nongen = null;
-    _scope = init(CTL_0,Node.con(Type.XNIL),MEM_0,Type.XNIL,null,true);
+    _scope = init(CTL_0,Node.con(Type.XNIL),MEM_0,Type.XNIL,0,true);
   }
 
   // A file-level Env, or below.  Contains user written code.
-  Env( Env par, Parse P, boolean is_closure, Node ctrl, Node mem ) {
+  Env( Env par, long loc, boolean is_closure, Node ctrl, Node mem ) {
     GVN._opt_mode=GVNGCM.Mode.Parse;
     _par = par;
     nongen_push(par);
     ScopeNode s = par._scope;   // Parent scope
-    _scope = init(ctrl,s.ptr(),mem,s.stk()._tptr,P==null ? null : P.errMsg(),is_closure);
+    _scope = init(ctrl,s.ptr(),mem,s.stk()._tptr,loc,is_closure);
   }
   // Make the Scope object for an Env.
-  private static ScopeNode init(Node ctl, Node clo, Node mem, Type back_ptr, Parse errmsg, boolean is_closure) {
+  private static ScopeNode init(Node ctl, Node clo, Node mem, Type back_ptr, long errmsg, boolean is_closure) {
     TypeStruct tdisp = TypeStruct.open(back_ptr);
     mem.keep(2);
     NewObjNode nnn = GVN.xform(new NewObjNode(is_closure,tdisp,clo)).keep(2);
@@ -94,9 +94,9 @@ public class Env implements AutoCloseable {
 
     STK_0.keep();               // Inputs & type will rapidly change
     for( PrimNode prim : PrimNode.PRIMS() )
-      STK_0.add_fun(null,prim._name,(FunPtrNode) GVN.xform(prim.as_fun(GVN)));
+      STK_0.add_fun(0,prim._name,(FunPtrNode) GVN.xform(prim.as_fun(GVN)));
     for( NewNode.NewPrimNode lib : NewNode.NewPrimNode.INTRINSICS() )
-      STK_0.add_fun(null,lib ._name,(FunPtrNode) GVN.xform(lib .as_fun(GVN)));
+      STK_0.add_fun(0,lib ._name,(FunPtrNode) GVN.xform(lib .as_fun(GVN)));
     // Top-level constants
     STK_0.create_active("math_pi", Node.con(TypeFlt.PI),Access.Final);
     STK_0.no_more_fields();
@@ -105,13 +105,14 @@ public class Env implements AutoCloseable {
     GVN.iter(GVNGCM.Mode.Parse);
 
     if( first_time ) record_for_top_reset2();
+    else Node.init0();          // Primitives end here; reset node numbering may differ
     return top;
   }
 
   // A new Env for the current Parse scope (generally a file-scope or a
   // test-scope), above this is the basic public Env with all the primitives
   public static Env file_scope(Env top_scope) {
-    return (FILE = new Env(top_scope,null, true, top_scope._scope.ctrl(), top_scope._scope.mem()));
+    return (FILE = new Env(top_scope,0, true, top_scope._scope.ctrl(), top_scope._scope.mem()));
   }
 
   // Wire up an early function exit
@@ -141,6 +142,8 @@ public class Env implements AutoCloseable {
     if( pscope != null && _par._par != null )
       _scope.stk().promote_forward(pscope.stk());
     close_display(GVN);
+    for( VStack vs = _nongen; vs!=null && vs!=_par._nongen; vs = vs._par )
+      vs.close();               // Close lexical H-M scopes
     GVN.add_dead(_scope);
     GVN.iter(GVN._opt_mode);
   }
@@ -159,12 +162,15 @@ public class Env implements AutoCloseable {
     BitsAlias .reset_to_init0();
     BitsFun   .reset_to_init0();
     BitsRPC   .reset_to_init0();
+    TypeStruct.reset();
     TV2       .reset_to_init0();
     GVN       .reset_to_init0();
     Node      .reset_to_init0();
     FunNode   .reset();
+    SrcLoc    .reset();
     NewNode.NewPrimNode.reset();
     PrimNode  .reset();
+    VStack    .reset();
     ALL_DISPLAYS = BitsAlias.EMPTY; // Reset aliases declared as Displays
     LEX_DISPLAYS = BitsAlias.EMPTY;
   }
@@ -211,7 +217,7 @@ public class Env implements AutoCloseable {
   }
 
   // Update function name token to Node mapping in the current scope
-  Node add_fun( Parse bad, String name, Node val ) { return _scope.stk().add_fun(bad,name,(FunPtrNode)val); }
+  Node add_fun( long bad, String name, Node val ) { return _scope.stk().add_fun(bad,name,(FunPtrNode)val); }
 
 
   // Type lookup in any scope
@@ -247,14 +253,31 @@ public class Env implements AutoCloseable {
   // check.  This stack sub-sequences the main Env._scope stack, having splits
   // for every unrelated set of mutually-self-recursive definitions.  This is
   // typically just a single variable, currently being defined.
-  Node nongen_pop(Node ret) { _nongen = _nongen._par; return ret;}
+  Node nongen_pop(Node ret) { _nongen.close(); _nongen = _nongen._par; return ret;}
   void nongen_push(Env par) { _nongen = new VStack(par._nongen); }
   public static class VStack {
     public final VStack _par;          // Parent
     public Ary<String> _flds;          // Field names, unique per-Scope
     public Ary<TV2> _tvars; // Type variable, set at first reference (forward-ref or not)
-    private VStack( VStack par ) { _par=par; _flds = new Ary<>(new String[1],0); _tvars = new Ary<>(new TV2[1],0); }
-    String add_var(String fld, TV2 tv) { _flds.push(fld);  _tvars.push(tv); return fld; }
+    // Scopes are numbered in preorder; a scope covers the interval
+    // [_pre,_post] of its nested scopes.  Open scopes cover all later scopes.
+    private static int PRE;
+    private final int _pre;
+    private int _post = Integer.MAX_VALUE;
+    private VStack( VStack par ) { _par=par; _flds = new Ary<>(new String[1],0); _tvars = new Ary<>(new TV2[1],0); _pre = ++PRE; }
+    String add_var(String fld, TV2 tv) { _flds.push(fld);  _tvars.push(tv); tv.set_nongen(this); return fld; }
+    void close() { if( _post==Integer.MAX_VALUE ) _post = PRE; }
+    static void reset() { PRE=0; } // Scopes from a prior compile are all dead
+    // True if this scope is, or lexically encloses, 'vs'
+    public boolean encloses( VStack vs ) { return _pre <= vs._pre && vs._pre <= _post; }
+    // Innermost scope enclosing both; null is unbound and encloses nothing
+    public static VStack lca( VStack a, VStack b ) {
+      if( a==null ) return b;
+      if( b==null ) return a;
+      while( a!=null && !a.encloses(b) ) a = a._par;
+      return a;
+    }
+    @Override public int hashCode() { return _pre; }
     public boolean isEmpty() {
       return _flds.isEmpty() && (_par == null || _par.isEmpty());
     }
@@ -127,8 +127,10 @@ public class HM {
     }
 
     System.out.println("Initial T2s: "+init_T2s+", Prog size: "+cnt_syns+", worklist iters: "+work._cnt+", T2s: "+T2.CNT);
+    ITERS=work._cnt;  T2S=T2.CNT;
     return prog;
   }
+  static int ITERS, T2S;        // Stats from the last run
 
   static void main_work_loop(Root prog, Worklist work) {
 
@@ -170,6 +172,7 @@ public class HM {
     Lambda.FUNS.clear();
     T2.reset();
     PrimSyn.reset();
+    Syntax.UID=1;
   }
 
   // ---------------------------------------------------------------------
@@ -306,21 +309,46 @@ public class HM {
   }
 
   // ---------------------------------------------------------------------
-  // Worklist of Syntax nodes
+  // Worklist of Syntax nodes.  The pop order is selected by WORK_ORDER.  Dups
+  // are filtered by a bitset over dense Syntax uids.
+  static final int LIFO=0, FIFO=1, RANDOM=2, DEPTH=3; // Pop orders; DEPTH pops the deepest Syntax first
+  static int WORK_ORDER = LIFO;
   private static class Worklist {
     public int _cnt;                                          // Count of items ever popped (not the current length)
-    private final Ary<Syntax> _ary = new Ary<>(Syntax.class); // For picking random element
-    private final HashSet<Syntax> _work = new HashSet<>();    // For preventing dups
-    public int len() { return _ary.len(); }
-    public void push(Syntax s) { if( s!=null && !_work.contains(s) ) _work.add(_ary.push(s)); }
-    public Syntax pop() { Syntax s = _ary.pop();_cnt++;            _work.remove(s); return s; }
-    //public Syntax pop() { Syntax s = _ary.del(  _cnt++%_ary._len); _work.remove(s); return s; }
-    public boolean has(Syntax s) { return _work.contains(s); }
+    private final Ary<Syntax> _ary = new Ary<>(Syntax.class); // Live work is [_head,len)
+    private final VBitSet _on = new VBitSet();                // For preventing dups
+    private final Random _rand = new Random(42);              // Repeatable RANDOM order
+    private int _head;                                        // FIFO head
+    public int len() { return _ary._len-_head; }
+    public void push(Syntax s) { if( s!=null && !_on.tset(s._uid) ) _ary.push(s); }
+    public Syntax pop() {
+      Syntax s;
+      switch( WORK_ORDER ) {
+      case LIFO:   s = _ary.pop();  break;
+      case FIFO:   s = _ary.at(_head);  _ary.set(_head++,null);  break;
+      case RANDOM: s = _ary.del(_head+_rand.nextInt(len()));  break;
+      case DEPTH: {
+        int x=_head;
+        for( int i=_head+1; i<_ary._len; i++ ) if( _ary.at(i)._depth > _ary.at(x)._depth ) x=i;
+        s = _ary.del(x);  break;
+      }
+      default: throw unimpl();
+      }
+      // Slide live work down once the dead prefix is half the list
+      if( _head > 0 && (_head<<1) >= _ary._len ) {
+        System.arraycopy(_ary._es,_head,_ary._es,0,_ary._len-_head);
+        _ary.set_len(_ary._len-_head);
+        _head=0;
+      }
+      _cnt++;  _on.clear(s._uid);
+      return s;
+    }
+    public boolean has(Syntax s) { return _on.get(s._uid); }
     public void addAll(Ary<? extends Syntax> ss) { if( ss != null ) for( Syntax s : ss ) push(s); }
     public void clear() {
-      _cnt=0;
+      _cnt=_head=0;
       _ary.clear();
-      _work.clear();
+      _on.clear();
     }
     @Override public String toString() { return _ary.toString(); }
   }
@@ -360,6 +388,9 @@ public class HM {
 
   // ---------------------------------------------------------------------
   static abstract class Syntax {
+    private static int UID=1;
+    final int _uid = UID++;     // Dense id, for worklist bitsets
+    int _depth;                 // Depth in the AST
     Syntax _par;                // Parent in the AST
     VStack _nongen;             // Non-generative type variables
     T2 _hmt;                    // Current HM type
@@ -394,6 +425,7 @@ public class HM {
       _hmt = t;
       _flow= Type.XSCALAR;
       _nongen = nongen;
+      _depth = par==null ? 0 : par._depth+1;
       work.push(this);
     }
     void prep_lookup_deps(Ident id) {}
@@ -682,8 +714,15 @@ public class HM {
       work.push(_par);
       for( Syntax arg : _args ) work.push(arg);
     }
-    static private final HashMap<T2,Type> T2MAP = new HashMap<>();
-    static private final NonBlockingHashMapLong<TypeStruct> WDUPS = new NonBlockingHashMapLong<>();
+    // Lift scratch lives in per-T2 slots stamped with these epochs; bumping
+    // an epoch clears every slot at once.
+    static int LIFT_EPOCH, VISIT_EPOCH;
+    static final NonBlockingHashMapLong<String> VDUPS = new NonBlockingHashMapLong<>(); // Spill for T2s visited with several Types
+    static boolean VDIRTY;
+    static void visit_start() {
+      VISIT_EPOCH++;
+      if( VDIRTY ) { VDUPS.clear(); VDIRTY=false; }
+    }
     @Override Type val(Worklist work) {
       Type flow = _fun._flow;
       if( !(flow instanceof TypeFunPtr) ) return flow.oob(Type.SCALAR);
@@ -704,12 +743,12 @@ public class HM {
       // types with the matching input CCP type.
       if( DO_HM ) {
         // Walk the inputs, building a mapping
-        T2MAP.clear();
+        LIFT_EPOCH++;
         for( Syntax arg : _args )
-          { WDUPS.clear(); arg.find().walk_types_in(arg._flow); }
+          { visit_start(); arg.find().walk_types_in(arg._flow); }
 
         // Walk the outputs, building an improved result
-        WDUPS.clear();
+        visit_start();
         Type rez2 = find().walk_types_out(rez,this);
         Type rez3 = rez2.join(rez);   // Lift result
         assert _flow.isa(rez3) && rez3.isa(rez ); // Monotonic...
@@ -930,7 +969,7 @@ public class HM {
       prep_tree_impl(par, nongen, work, T2.make_struct(false,BitsAlias.make0(_alias),null,null));
       int cnt = 1;              // One for self
       T2[] t2s = new T2[_ids.length];
-      if( _ids.length!=0 ) _hmt._args = new NonBlockingHashMap<>();
+      if( _ids.length!=0 ) _hmt._args = new SmallMap<>();
       assert _hmt._deps==null;
       for( int i=0; i<_ids.length; i++ ) { // Prep all sub-fields
         cnt += _flds[i].prep_tree(this,nongen,work);
@@ -1338,7 +1377,7 @@ public class HM {
     // If Lambda , contains keys "0","1","2" for args or "ret" for return.
     // If Apply  , contains keys "fun" and "0","1","2" for args
     // If Struct , contains keys for the field labels.  No display.  Is null if no fields.
-    NonBlockingHashMap<String,T2> _args;
+    SmallMap<T2> _args;
 
     // A dataflow type or null.
     // If Leaf, or unified or Nil or Apply, then null.
@@ -1356,12 +1395,17 @@ public class HM {
     // Dependent (non-local) tvars to revisit
     Ary<Syntax> _deps;
 
+    // Apply lift scratch, valid only while stamped with the current epoch
+    private int _lmark, _vmark; // Lift and visit epoch stamps
+    private Type _ltype;        // Met input flow type
+    private Type _vtype;        // Walking in: first flow type visited.  Out: the struct under construction
+
     // Constructor factories.
     static T2 make_leaf() { return new T2("V",null,null,false); }
-    static T2 make_nil (T2 leaf) { return new T2("?",null,new NonBlockingHashMap<String,T2>(){{put("?",leaf);}},false); }
+    static T2 make_nil (T2 leaf) { return new T2("?",null,new SmallMap<>("?",leaf),false); }
     static T2 make_base(Type flow) { assert !(flow instanceof TypeStruct); return new T2("Base",flow,null,false); }
     static T2 make_fun( boolean is_func_input, BitsFun fidxs, T2... t2s ) {
-      NonBlockingHashMap<String,T2> args = new NonBlockingHashMap<>();
+      SmallMap<T2> args = new SmallMap<>();
       for( int i=0; i<t2s.length-1; i++ ) {
         T2 t2 = t2s[i];
         args.put("" + i, t2);
@@ -1372,7 +1416,7 @@ public class HM {
     }
     // A struct with fields
     static T2 make_struct( boolean open, BitsAlias aliases, String[] ids, T2[] flds ) {
-      NonBlockingHashMap<String,T2> args = ids==null ? null : new NonBlockingHashMap<>();
+      SmallMap<T2> args = ids==null ? null : new SmallMap<>();
       if( ids!=null )
         for( int i=0; i<ids.length; i++ )
           args.put(ids[i],flds[i]);
@@ -1384,13 +1428,13 @@ public class HM {
     @SuppressWarnings("unchecked")
     T2 copy() {
       T2 t = new T2(_name,_flow,null,_open);
-      if( _args!=null ) t._args = (NonBlockingHashMap<String,T2>)_args.clone();
+      if( _args!=null ) t._args = _args.clone();
       t._deps  = _deps;
       t._is_func_input = _is_func_input;
       return t;
     }
 
-    private T2(@NotNull String name, Type flow, NonBlockingHashMap<String,T2> args, boolean open) {
+    private T2(@NotNull String name, Type flow, SmallMap<T2> args, boolean open) {
       _uid  = CNT++;
       _name = name;
       _args = args;
@@ -1445,7 +1489,7 @@ public class HM {
         _flow = n._flow.meet_nil(Type.XNIL);
         _open = n._open;
         assert !_is_func_input || n._is_func_input;
-        _args = n._args==null ? null : (NonBlockingHashMap<String, T2>)n._args.clone();  // Shallow copy the TV2 fields
+        _args = n._args==null ? null : n._args.clone();  // Shallow copy the TV2 fields
         _name = n._name;
       } else if( n.is_nil() ) {
         _args.put("?",n.arg("?"));
@@ -1549,7 +1593,7 @@ public class HM {
       _flow=null;
       _open=false;
       _is_func_input = false;
-      _args = new NonBlockingHashMap<String,T2>(){{put(">>",that);}};
+      _args = new SmallMap<>(">>",that);
       _name = "X";             // Flag as a unified
       assert unified();
       return true;
@@ -1579,7 +1623,7 @@ public class HM {
     // If work is null, does not actually change anything, just reports progress.
     // If work and change, unifies 'this' into 'that' (changing both), and
     // updates the worklist.
-    static private final HashMap<Long,T2> DUPS = new HashMap<>();
+    static private final LongMap<T2> DUPS = new LongMap<>();
     boolean unify( T2 that, Worklist work ) {
       if( this==that ) return false;
       assert DUPS.isEmpty();
@@ -1653,7 +1697,7 @@ public class HM {
     private boolean add_fld(String id, T2 fld, Worklist work) {
       assert is_struct();
       if( _args==null ) {
-        _args = new NonBlockingHashMap<>();
+        _args = new SmallMap<>();
         fld.push_update(_deps);
       }
       _args.put(id,fld);
@@ -1682,7 +1726,7 @@ public class HM {
     // the same as calling 'fresh' then 'unify', without the clone of 'this'.
     // Returns progress.
     // If work is null, we are testing only and make no changes.
-    static private final HashMap<T2,T2> VARS = new HashMap<>();
+    static private final IdentMap<T2,T2> VARS = new IdentMap<>();
     boolean fresh_unify(T2 that, VStack nongen, Worklist work) {
       assert VARS.isEmpty() && DUPS.isEmpty();
       int old = CNT;
@@ -1852,7 +1896,7 @@ public class HM {
 
     // -----------------
     // Test for structural equivalence, including cycles
-    static private final HashMap<T2,T2> CDUPS = new HashMap<>();
+    static private final IdentMap<T2,T2> CDUPS = new IdentMap<>();
     boolean cycle_equals(T2 t) {
       assert CDUPS.isEmpty();
       boolean rez = _cycle_equals(t);
@@ -1884,8 +1928,7 @@ public class HM {
     // Stop if either side loses corresponding structure.  This operation must be
     // monotonic because the result is JOINd with GCP types.
     Type walk_types_in(Type t) {
-      long duid = dbl_uid(t._uid);
-      if( Apply.WDUPS.putIfAbsent(duid,TypeStruct.ALLSTRUCT)!=null ) return t;
+      if( visit(t) ) return t;
       assert !unified();
       if( is_err() ) return fput(Type.SCALAR); //
       // Base variables (when widened to an HM type) might force a lift.
@@ -1929,8 +1972,17 @@ public class HM {
 
       throw unimpl();
     }
+    // True if already walked against 't' this visit.  The first Type sits in
+    // the slot; any more spill to a side table.
+    private boolean visit( Type t ) {
+      if( _vmark!=Apply.VISIT_EPOCH ) { _vmark=Apply.VISIT_EPOCH; _vtype=t; return false; }
+      if( _vtype==t ) return true;
+      Apply.VDIRTY = true;
+      return Apply.VDUPS.putIfAbsent(dbl_uid(t._uid),"")!=null;
+    }
     private Type fput(final Type t) {
-      Apply.T2MAP.merge(this, t, Type::meet);
+      if( _lmark!=Apply.LIFT_EPOCH ) { _lmark=Apply.LIFT_EPOCH; _ltype=t; }
+      else _ltype = _ltype.meet(t);
       return t;
     }
 
@@ -1939,7 +1991,7 @@ public class HM {
     Type walk_types_out( Type t, Apply apply ) {
       assert !unified();
       if( t == Type.XSCALAR ) return t;  // No lift possible
-      Type tmap = Apply.T2MAP.get(this); // Output HM type has a matching input HM type has a matching input flow type
+      Type tmap = _lmark==Apply.LIFT_EPOCH ? _ltype : null; // Output HM type has a matching input HM type has a matching input flow type
       if( is_leaf() || is_err() ) { // If never mapped on input, leaf is unbound by input
         if( tmap==null || !tmap.isa(t) ) return t;
         push_update(apply);     // Re-run apply if this leaf re-maps
@@ -1953,14 +2005,14 @@ public class HM {
           return tmap == null ? as_flow().join(t) : tmap;  // The most struct-like thing you can be
         TypeMemPtr tmp = (TypeMemPtr)t;
         TypeStruct ts0 = (TypeStruct)tmp._obj;
-        TypeStruct ts = Apply.WDUPS.get(_uid);
+        TypeStruct ts = _vmark==Apply.VISIT_EPOCH ? (TypeStruct)_vtype : null;
         if( ts != null ) ts._cyclic = true;
         else {
           Type.RECURSIVE_MEET++;
           ts = TypeStruct.malloc("",false,false);
           for( TypeFld fld : ts0.flds() ) ts.add_fld(fld.malloc_from());
           ts.set_hash();
-          Apply.WDUPS.put(_uid,ts); // Stop cycles
+          _vmark=Apply.VISIT_EPOCH; _vtype=ts; // Stop cycles
           for( TypeFld fld : ts.flds() )
             if( arg(fld._fld) != null )
               fld.setX(arg(fld._fld).walk_types_out(fld._t,apply));
@@ -2131,7 +2183,7 @@ public class HM {
       sb.p(VNAMES.computeIfAbsent(this, (k -> vuid ? (_name + k._uid) : ((++VCNT) - 1 + 'A' < 'V' ? ("" + (char) ('A' + VCNT - 1)) : ("V" + VCNT)))));
     }
     private boolean is_tup() { return _args==null || _args.isEmpty() || _args.containsKey("0"); }
-    private Collection<String> sorted_flds() { return new TreeMap<>(_args).keySet(); }
+    private Collection<String> sorted_flds() { TreeSet<String> s = new TreeSet<>(); for( String k : _args.keySet() ) s.add(k); return s; }
     boolean is_prim() {
       return is_struct() && _args!=null && _args.containsKey("!");
     }
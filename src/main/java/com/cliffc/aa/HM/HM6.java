@@ -81,8 +81,10 @@ public class HM6 {
     assert prog.more_work(work);
 
     //System.out.println("Initial T2s: "+init_T2s+", Prog size: "+cnt_syns+", worklist iters: "+cnt+", T2s: "+T2.CNT);
+    ITERS=cnt;  T2S=T2.CNT;
     return prog._t;
   }
+  static int ITERS, T2S;        // Stats from the last run
   static void reset() { PRIMS.clear(); T2.reset(); }
 
   // ---------------------------------------------------------------------
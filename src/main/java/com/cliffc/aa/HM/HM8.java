@@ -81,8 +81,10 @@ public class HM8 {
     assert prog.more_work(work);
 
     //System.out.println("Initial T2s: "+init_T2s+", Prog size: "+cnt_syns+", worklist iters: "+work._cnt+", T2s: "+T2.CNT);
+    ITERS=work._cnt;  T2S=T2.CNT;
     return prog;
   }
+  static int ITERS, T2S;        // Stats from the last run
   static void reset() { PRIMS.clear(); T2.reset(); BitsAlias.reset_to_init0(); }
 
   // ---------------------------------------------------------------------
@@ -6,8 +6,7 @@ import com.cliffc.aa.tvar.TV2;
 import com.cliffc.aa.util.*;
 import org.jetbrains.annotations.NotNull;
 
-import java.text.NumberFormat;
-import java.text.ParsePosition;
+import java.math.BigDecimal;
 import java.util.*;
 
 import static com.cliffc.aa.AA.*;
@@ -67,34 +66,28 @@ import static com.cliffc.aa.type.TypeFld.Access;
  *  tvar = id                      // Type variable lookup
  */
 
-public class Parse implements Comparable<Parse> {
+public class Parse {
   private final String _src;            // Source for error messages; usually a file name
   private Env _e;                       // Lookup context; pushed and popped as scopes come and go
   private final byte[] _buf;            // Bytes being parsed
   private int _x;                       // Parser index
   private int _lastNWS;                 // Index of last non-white-space char
   private final AryInt _lines;          // char offset of each line
+  private final int _fid;               // Source id for compact error locations
   public final GVNGCM _gvn;             // Pessimistic types
-
-  // Fields strictly for Java number parsing
-  private final NumberFormat _nf;
-  private final ParsePosition _pp;
-  private final String _str;
+  // Identifiers and operators, shared by all parses.  Tokens come back
+  // interned, without making a String per token scanned.
+  private static final Symbols SYMS = new Symbols();
 
   Parse( String src, Env env, String str ) {
     _src = src;
     _e   = env;
     _buf = str.getBytes();
     _x   = 0;
-
-    // Set fields strictly for Java number parsing
-    _nf = NumberFormat.getInstance();
-    _nf.setGroupingUsed(false);
-    _pp = new ParsePosition(0);
-    _str = str;           // Keep a complete string copy for java number parsing
     _lines = new AryInt();//
     _lines.push(0);       // Line 0 at offset 0
     _gvn = Env.GVN;       // Pessimistic during parsing
+    _fid = SrcLoc.add(src,_buf);
   }
   String dump() { return scope().dump(99); }// debugging hook
   String dumprpo() { return Env.START.dumprpo(false,false); }// debugging hook
@@ -111,9 +104,9 @@ public class Parse implements Comparable<Parse> {
     Env.GVN.add_flow_uses(_e._scope);// Post-parse, revisit top-level called functions
     _gvn.iter(GVNGCM.Mode.PesiNoCG); // Pessimistic optimizations; might improve error situation
     Env.DEFMEM.unkeep(2);            // Memory not forced alive
-    Combo.opto();                    // Global Constant Propagation and Hindley-Milner Typing
+    Combo.Snap snap = Combo.opto();  // Global Constant Propagation and Hindley-Milner Typing
     _gvn.iter(GVNGCM.Mode.PesiCG);   // Re-check all ideal calls now that types have been maximally lifted
-    Combo.opto();                    // Global Constant Propagation and Hindley-Milner Typing
+    Combo.reopto(snap);              // Incremental, only what the ideal calls changed
     _gvn.iter(GVNGCM.Mode.PesiCG);   // Re-check all ideal calls now that types have been maximally lifted
     _e._scope.unkeep();
     //assert Type.intern_check();
@@ -126,9 +119,11 @@ public class Parse implements Comparable<Parse> {
     HashSet<Node.ErrMsg> errs = new HashSet<>();
     VBitSet bs = new VBitSet();
     scope().walkerr_def(errs,bs);
-    if( skipWS() != -1 ) errs.add(Node.ErrMsg.trailingjunk(this));
+    if( skipWS() != -1 ) errs.add(Node.ErrMsg.trailingjunk(errMsg()));
     ArrayList<Node.ErrMsg> errs0 = new ArrayList<>(errs);
     Collections.sort(errs0);
+    for( Node.ErrMsg err : errs0 ) err.pin(); // Printable after the source is dropped
+    SrcLoc.drop(_fid);
 
     Node rez = scope().rez();
     Type mem = scope().mem()._val;
@@ -183,13 +178,12 @@ public class Parse implements Comparable<Parse> {
     int oldx = _x;
     String tvar = token();      // Scan for tvar
     if( tvar == null || !peek('=') || !peek(':') ) { _x = oldx; return null; }
-    tvar = tvar.intern();
     // Must be a type-variable assignment
     Type t = typev();
     if( t==null ) return err_ctrl2("Missing type after ':'");
     if( peek('?') ) return err_ctrl2("Named types are never nil");
     if( lookup(tvar) != null ) return err_ctrl2("Cannot re-assign val '"+tvar+"' as a type");
-    Parse bad = errMsg();
+    long bad = errMsg();
     // Single-inheritance & vtables & RTTI:
     //            "Objects know thy Class"
     // Which means a TypeObj knows its Name.  It's baked into the vtable.
@@ -257,22 +251,22 @@ public class Parse implements Comparable<Parse> {
       Node ifex = ifex();
       if( ifex==null ) ifex=con(Type.XNIL);
       if( _e._par._par==null )
-        return err_ctrl1(Node.ErrMsg.syntax(this,"Function exit but outside any function"));
+        return err_ctrl1(Node.ErrMsg.syntax(errMsg(),"Function exit but outside any function"));
       return _e.early_exit(this,ifex);
     }
 
     // Gather ids in x = y = z = ....
     Ary<String> toks = new Ary<>(new String[1],0);
     Ary<Type  > ts   = new Ary<>(new Type  [1],0);
-    Ary<Parse > badfs= new Ary<>(new Parse [1],0);
-    Ary<Parse > badts= new Ary<>(new Parse [1],0);
+    AryInt     badfs= new AryInt();
+    AryInt     badts= new AryInt();
     BitSet rs = new BitSet();
     boolean default_nil = false;
     _e.nongen_push(_e);
     while( true ) {
       skipWS();
       int oldx = _x;            // Unwind token parse point
-      Parse badf = errMsg();    // Capture location in case of field error
+      int badf = _x;            // Capture location in case of field error
       String tok = token();     // Scan for 'id = ...'
       if( tok == null ) break;  // Out of ids
       int oldx2 = _x;           // Unwind assignment flavor point
@@ -284,7 +278,7 @@ public class Parse implements Comparable<Parse> {
       // x : type := ... typed var   assignment
       // x : nontype = ... error, missing type
       // p? x : nontype ... part of trinary
-      Parse badt = errMsg();    // Capture location in case of type error
+      int badt = _x;            // Capture location in case of type error
       if( peek(":=") ) _x=oldx2; // Avoid confusion with typed assignment test
       else if( peek(':') && (t=type())==null ) { // Check for typed assignment
         if( scope().test_if() ) _x = oldx2; // Grammar ambiguity, resolve p?a:b from a:int
@@ -306,10 +300,10 @@ public class Parse implements Comparable<Parse> {
         }
       }
 
-      toks .add(_e._nongen.add_var(tok.intern(),TV2.make_leaf_ns(null,"Env.add_var")));
+      toks .add(_e._nongen.add_var(tok,TV2.make_leaf_ns(null,"Env.add_var")));
       ts   .add(t  );
-      badfs.add(badf);
-      badts.add(badt);
+      badfs.push(badf);
+      badts.push(badt);
     }
 
     // Normal statement value parse
@@ -321,7 +315,7 @@ public class Parse implements Comparable<Parse> {
     }
     // Honor all type requests, all at once, by inserting type checks on the ifex.
     for( int i=0; i<ts._len; i++ )
-      ifex = typechk(ifex,ts.at(i),mem(),badts.at(i));
+      ifex = typechk(ifex,ts.at(i),mem(),errMsg(badts.at(i)));
     ifex.keep();
 
     // Assign tokens to value
@@ -350,7 +344,7 @@ public class Parse implements Comparable<Parse> {
 
         // Assign into display, changing an existing def
         Node ptr = get_display_ptr(scope); // Pointer, possibly loaded up the display-display
-        StoreNode st = new StoreNode(mem(),ptr,ifex,mutable,tok,badfs.at(i));
+        StoreNode st = new StoreNode(mem(),ptr,ifex,mutable,tok,errMsg(badfs.at(i)));
         scope().replace_mem(st);
         scope.def_if(tok,mutable,false); // Note 1-side-of-if update
       }
@@ -390,7 +384,7 @@ public class Parse implements Comparable<Parse> {
     Node f_ctrl= ctrl().keep(2);   // Keep until merge point
     Node f_mem = mem ().keep(2);   // Keep until merge point
 
-    Parse bad = errMsg();
+    long bad = errMsg();
     t_mem = scope().check_if(true ,bad,_gvn,t_ctrl,t_mem); // Insert errors if created only 1 side
     f_mem = scope().check_if(false,bad,_gvn,f_ctrl,f_mem); // Insert errors if created only 1 side
     scope().pop_if();         // Pop the if-scope
@@ -518,7 +512,7 @@ public class Parse implements Comparable<Parse> {
     // Insert a thunk header to capture the delayed execution
     ThunkNode thunk = (ThunkNode)gvn(new ThunkNode(mem()));
     set_ctrl(thunk);
-    set_mem (gvn(new ParmNode(MEM_IDX,"mem",thunk.keep(2),TypeMem.MEM,Env.DEFMEM,null)));
+    set_mem (gvn(new ParmNode(MEM_IDX,"mem",thunk.keep(2),TypeMem.MEM,Env.DEFMEM,0)));
 
     // Delayed execution parse of RHS
     Node rhs = _expr_higher_require(prec,bintok,lhs);
@@ -543,7 +537,7 @@ public class Parse implements Comparable<Parse> {
         // TODO: alignment between old_defs and struct fields
         String fname = stk._ts.fld_idx(i)._fld;
         String msg = "'"+fname+"' not defined prior to the short-circuit";
-        Parse bad = errMsg(rhsx);
+        long bad = errMsg(rhsx);
         Node err = gvn(new ErrNode(ctrl(),bad,msg));
         set_mem(gvn(new StoreNode(mem(),scope().ptr(),err,Access.Final,fname,bad)));
       }
@@ -565,7 +559,7 @@ public class Parse implements Comparable<Parse> {
     String uni = token();
     if( uni!=null ) {
       // This is a primitive lookup and always returns a FRESH copy (see HM.Ident).
-      UnOrFunPtrNode unifun = _e.lookup_filter_fresh(uni.intern(),1,ctrl()); // UniOp, or null
+      UnOrFunPtrNode unifun = _e.lookup_filter_fresh(uni,1,ctrl()); // UniOp, or null
       FunPtrNode ptr = unifun==null ? null : unifun.funptr();
       if( ptr==null || ptr.fun()._op_prec <= 0 ) _x=oldx; // Not a uniop
       else {
@@ -601,9 +595,8 @@ public class Parse implements Comparable<Parse> {
         if( fld == null ) {     // Not a token, check for a field number
           int fldnum = field_number();
           if( fldnum == -1 ) return err_ctrl2("Missing field name after '.'");
-          fld = ""+fldnum;      // Convert to a field name
+          fld = (""+fldnum).intern(); // Convert to a field name
         }
-        fld=fld.intern();
 
         Node castnn = gvn(new CastNode(ctrl(),n,TypeMemPtr.ISUSED)); // Remove nil choice
 
@@ -643,7 +636,7 @@ public class Parse implements Comparable<Parse> {
           n.unhook();
           n = err_ctrl2("A function is being called, but "+tn+" is not a function");
         } else {
-          Parse[] badargs = ((NewObjNode)arg.in(0))._fld_starts; // Args from tuple
+          long[] badargs = ((NewObjNode)arg.in(0))._fld_starts; // Args from tuple
           badargs[0] = errMsg(oldx-1); // Base call error reported at the opening paren
           n = do_call0(false,badargs,args(n.unkeep(),arg)); // Pass the tuple
         }
@@ -700,7 +693,7 @@ public class Parse implements Comparable<Parse> {
   // Skips trailing WS
   private Node inc(String tok, int d) {
     skipWS();
-    ScopeNode scope = lookup_scope(tok=tok.intern(),false); // Find prior scope of token
+    ScopeNode scope = lookup_scope(tok,false); // Find prior scope of token
     // Need a load/call/store sensible options
     Node n;
     if( scope==null ) {         // Token not already bound to a value
@@ -716,9 +709,9 @@ public class Parse implements Comparable<Parse> {
     // Now properly load from the display.
     // This does a HM.Ident lookup, producing a FRESH tvar every time.
     Node ptr = get_display_ptr(scope);
-    n = gvn(new FreshNode(_e._nongen,ctrl(),gvn(new LoadNode(mem(),ptr,tok,null))));
+    n = gvn(new FreshNode(_e._nongen,ctrl(),gvn(new LoadNode(mem(),ptr,tok,0))));
     if( n.is_forward_ref() )    // Prior is actually a forward-ref
-      return err_ctrl1(Node.ErrMsg.forward_ref(this,((FunPtrNode)n)));
+      return err_ctrl1(Node.ErrMsg.forward_ref(errMsg(),((FunPtrNode)n)));
     // Do a full lookup on "+", and execute the function
     n.keep();
     // This is a primitive lookup and always returns a FRESH copy (see HM.Ident).
@@ -736,7 +729,7 @@ public class Parse implements Comparable<Parse> {
     Node fact = fact();
     if( fact==null ) return null;
     int oldx = _x;
-    Parse bad = errMsg();
+    long bad = errMsg();
     if( !peek(':') ) { _x = oldx; return fact; }
     Type t = type();
     if( t==null ) { _x = oldx; return fact; } // No error for missing type, because can be ?: instead
@@ -778,7 +771,7 @@ public class Parse implements Comparable<Parse> {
     // Anonymous function or operator
     if( peek1(c,'{') ) {
       String tok = token0();
-      Node op = tok == null ? null : _e.lookup(tok.intern());
+      Node op = tok == null ? null : _e.lookup(tok);
       if( peek('}') && op != null && op.op_prec() > 0 )
         // This is a primitive operator lookup as a function constant, and
         // makes a FRESH copy like HM.Ident.
@@ -792,7 +785,6 @@ public class Parse implements Comparable<Parse> {
     // Check for a valid 'id'
     String tok = token0();
     if( tok == null ) { _x = oldx; return null; }
-    tok = tok.intern();
     if( Util.eq(tok,"=") || Util.eq(tok,"^") )
       { _x = oldx; return null; } // Disallow '=' as a fact, too easy to make mistakes
     ScopeNode scope = lookup_scope(tok,false);
@@ -802,7 +794,7 @@ public class Parse implements Comparable<Parse> {
       // tail-half of a balanced-op, which is parsed by term() above.
       if( isOp(tok) ) { _x = oldx; return null; }
       // Must be a forward reference
-      Env fref_env = _e.lookup_fref(tok=tok.intern());
+      Env fref_env = _e.lookup_fref(tok);
       if( fref_env==null ) fref_env = _e;
       Node fref = gvn(FunPtrNode.forward_ref(_gvn,tok,errMsg(oldx),fref_env));
       // Place in nearest enclosing closure scope, this will keep promoting until we find the actual scope
@@ -822,22 +814,22 @@ public class Parse implements Comparable<Parse> {
     // otherwise the display is passed in as a hidden argument.
     // This does a HM.Ident lookup, producing a FRESH tvar every time.
     Node ptr = get_display_ptr(scope);
-    return gvn(new FreshNode(_e._nongen,ctrl(),gvn(new LoadNode(mem(),ptr,tok.intern(),null))));
+    return gvn(new FreshNode(_e._nongen,ctrl(),gvn(new LoadNode(mem(),ptr,tok,0))));
   }
 
   /** Parse a tuple; first stmt but not the ',' parsed.
    *  tuple= (stmts,[stmts,])     // Tuple; final comma is optional
    */
   private Node tuple(int oldx, Node s, int first_arg_start) {
-    Parse bad = errMsg(first_arg_start);
-    Ary<Parse> bads = new Ary<>(new Parse[1],1);
-    Ary<Node > args = new Ary<>(new Node [1],0);
+    int bad = first_arg_start;
+    AryInt    bads = new AryInt(new int[1],1);
+    Ary<Node> args = new Ary<>(new Node [1],0);
     while( s!= null ) {         // More args
       bads.push(bad);           // Collect arg & arg start
       args.push(s.keep());
       if( !peek(',') ) break;   // Final comma is optional
       skipWS();                 // Skip to arg start before recording arg start
-      bad = errMsg();           // Record arg start
+      bad = _x;                 // Record arg start
       s=stmts();                // Parse arg
     }
     require(')',oldx);          // Balanced closing paren
@@ -846,7 +838,7 @@ public class Parse implements Comparable<Parse> {
     NewObjNode nn = new NewObjNode(false,TypeStruct.open(TypeMemPtr.NO_DISP),Env.ANY);
     for( int i=0; i<args._len; i++ )
       nn.create_active((""+i).intern(),args.at(i).unkeep(),Access.Final);
-    nn._fld_starts = bads.asAry();
+    nn._fld_starts = errMsgs(bads.asAry());
     nn.no_more_fields();
     init(nn);
     nn.xval();
@@ -897,16 +889,16 @@ public class Parse implements Comparable<Parse> {
                                          TypeFld.make(" mem",TypeMem.MEM,MEM_IDX),
                                          TypeFld.make("^",tpar_disp,DSP_IDX));
     TypeStruct no_args_formals = formals;
-    Ary<Parse> bads= new Ary<>(new Parse[1],0);
+    AryInt bads= new AryInt();
 
     // Parse arguments
     while( true ) {
       String tok = token();
       if( tok == null ) { _x=oldx; break; } // not a "[id]* ->"
-      if( Util.eq((tok=tok.intern()),"->") ) break; // End of argument list
+      if( Util.eq(tok,"->") ) break; // End of argument list
       if( !isAlpha0((byte)tok.charAt(0)) ) { _x=oldx; break; } // not a "[id]* ->"
       Type t = Type.SCALAR;    // Untyped, most generic type
-      Parse bad = errMsg();    // Capture location in case of type error
+      int bad = _x;            // Capture location in case of type error
       if( peek(':') &&         // Has type annotation?
           (t=type())==null ) { // Get type
         // If no type, might be "{ x := ...}" or "{ fun arg := ...}" which can
@@ -921,7 +913,7 @@ public class Parse implements Comparable<Parse> {
         }
       }
       formals = formals.add_fld(tok,Access.Final,t,ARG_IDX+bads._len); // Accumulate args
-      bads.add(bad);
+      bads.push(bad);
     }
     // If this is a no-arg function, we may have parsed 1 or 2 tokens as-if
     // args, and then reset.  Also reset to just the mem & display args.
@@ -933,9 +925,9 @@ public class Parse implements Comparable<Parse> {
       // Record H-M VStack in case we clone
       fun.set_nongens(_e._nongen.compact());
       // Build Parms for system incoming values
-      Node rpc = X.xform(new ParmNode(CTL_IDX," rpc",fun,con(TypeRPC.ALL_CALL),null));
-      Node mem = X.xform(new ParmNode(MEM_IDX," mem",fun,TypeMem.MEM,Env.DEFMEM,null));
-      Node clo = X.xform(new ParmNode(DSP_IDX,"^"   ,fun,con(tpar_disp),null));
+      Node rpc = X.xform(new ParmNode(CTL_IDX," rpc",fun,con(TypeRPC.ALL_CALL),0));
+      Node mem = X.xform(new ParmNode(MEM_IDX," mem",fun,TypeMem.MEM,Env.DEFMEM,0));
+      Node clo = X.xform(new ParmNode(DSP_IDX,"^"   ,fun,con(tpar_disp),0));
 
       // Increase scope depth for function body.
       try( Env e = new Env(_e,errMsg(oldx-1), true, fun, mem) ) { // Nest an environment for the local vars
@@ -947,7 +939,7 @@ public class Parse implements Comparable<Parse> {
         stk.update("^",Access.Final,clo);
 
         // Parms for all arguments
-        Parse errmsg = errMsg();  // Lazy error message
+        long errmsg = errMsg();   // Lazy error message
         for( TypeFld fld : formals.flds() ) { // User parms start
           if( fld._order <= DSP_IDX ) continue;// Already handled
           Node parm = X.xform(new ParmNode(fld,fun,con(fld._t.simple_ptr()),errmsg));
@@ -1004,8 +996,8 @@ public class Parse implements Comparable<Parse> {
     Node val  = s.early_val ();
     if( ctrl == null ) {
       s.set_def(4,ctrl=new RegionNode((Node)null).keep()); ctrl._val=Type.CTRL;
-      s.set_def(5,mem =new PhiNode(TypeMem.MEM, null,(Node)null).keep());
-      s.set_def(6,val =new PhiNode(Type.SCALAR, null,(Node)null).keep());
+      s.set_def(5,mem =new PhiNode(TypeMem.MEM, 0,(Node)null).keep());
+      s.set_def(6,val =new PhiNode(Type.SCALAR, 0,(Node)null).keep());
     }
     ctrl.add_def(ctrl());
     mem .add_def(mem ());
@@ -1038,7 +1030,7 @@ public class Parse implements Comparable<Parse> {
     String bal = token();
     if( bal==null ) return null;
     // This is a primitive lookup and always returns a FRESH copy (see HM.Ident).
-    UnOrFunPtrNode bfun = _e.lookup_filter_fresh(bal.intern(),0,ctrl()); // No nargs filtering
+    UnOrFunPtrNode bfun = _e.lookup_filter_fresh(bal,0,ctrl()); // No nargs filtering
     if( bfun==null || bfun.op_prec() != 0 ) { _x=oldx; return null; }
     // Actual minimal length uniop might be smaller than the parsed token
     // (greedy algo vs not-greed)
@@ -1047,7 +1039,7 @@ public class Parse implements Comparable<Parse> {
   }
 
   // Add a typecheck into the graph, with a shortcut if trivially ok.
-  private Node typechk(Node x, Type t, Node mem, Parse bad) {
+  private Node typechk(Node x, Type t, Node mem, long bad) {
     return t == null || x._val.isa(t) ? x : gvn(new AssertNode(mem,x,t,bad,_e));
   }
 
@@ -1066,7 +1058,7 @@ public class Parse implements Comparable<Parse> {
       { _x=x; return null; } // Unwind, not a token
     if( c=='-' && _x-x>2 && _buf[x+1]=='>' ) // Disallow leading "->", confusing with function parameter list end; eg "not={x->!x}"
       _x=x+2;                                // Just return the "->"
-    return new String(_buf,x,_x-x);
+    return SYMS.make(_buf,x,_x-x);
   }
   static boolean isOp(String s) {
     if( !isOp0((byte)s.charAt(0)) ) return false;
@@ -1075,15 +1067,47 @@ public class Parse implements Comparable<Parse> {
     return true;
   }
 
-  // Parse a number; WS already skipped and sitting at a digit.  Relies on
-  // Javas number parsing.
+  // Parse a number; WS already skipped and sitting at a digit.  Digits, an
+  // optional '.' and fraction, and an optional 'E', '-' and exponent digits.
+  // As always, a trailing '.' is eaten, and values that are exactly integral
+  // and fit a long (3.0, 1E3) are ints.  Plain ints never leave the long
+  // accumulator; a nonzero fraction goes straight to Double.parseDouble; only
+  // exponents and overflow need an exact decimal check.
+  private static final BigDecimal LONG_LIMIT = BigDecimal.valueOf(Long.MAX_VALUE).add(BigDecimal.ONE);
   private Type number() {
-    _pp.setIndex(_x);
-    Number n = _nf.parse(_str,_pp);
-    _x = _pp.getIndex();
-    if( n instanceof Long   ) return n.longValue()==0 ? Type.XNIL : TypeInt.con(n.  longValue());
-    if( n instanceof Double ) return TypeFlt.con(n.doubleValue());
-    throw new RuntimeException(n.getClass().toString()); // Should not happen
+    int x = _x;
+    long sum=0;
+    boolean ovf=false, frac=false, exp=false;
+    byte c;
+    while( _x < _buf.length && isDigit(c=_buf[_x]) ) {
+      _x++;
+      if( sum > (Long.MAX_VALUE-(c-'0'))/10 ) ovf=true;
+      else sum = sum*10+c-'0';
+    }
+    if( _x < _buf.length && _buf[_x]=='.' ) {
+      _x++;
+      for( ; _x < _buf.length && isDigit(c=_buf[_x]); _x++ )
+        if( c!='0' ) frac=true; // All-zero fractions are still ints
+    }
+    if( _x < _buf.length && _buf[_x]=='E' ) {
+      int e = _x+1;
+      if( e < _buf.length && _buf[e]=='-' ) e++;
+      if( e < _buf.length && isDigit(_buf[e]) ) { // Else the 'E' is not part of the number
+        for( _x=e; _x < _buf.length && isDigit(_buf[_x]); _x++ ) ;
+        exp=true;
+      }
+    }
+    if( !ovf && !frac && !exp ) return sum==0 ? Type.XNIL : TypeInt.con(sum);
+    if( !ovf && !frac && sum==0 ) return Type.XNIL; // Zero, any exponent
+    String s = new String(_buf,x,_x-x);
+    if( !frac || exp ) {        // Might be integral
+      try {
+        BigDecimal bd = new BigDecimal(s);
+        if( bd.compareTo(LONG_LIMIT) < 0 && bd.stripTrailingZeros().scale() <= 0 )
+          return TypeInt.con(bd.longValue());
+      } catch( NumberFormatException ignore ) { } // Exponent too large for BigDecimal; not a long
+    }
+    return TypeFlt.con(Double.parseDouble(s));
   }
   // Parse a small positive integer; WS already skipped and sitting at a digit.
   private int field_number() {
@@ -1188,16 +1212,15 @@ public class Parse implements Comparable<Parse> {
     if( peek("@{") ) {          // Struct type
       Ary<TypeFld> flds = new Ary<>(new TypeFld[]{TypeMemPtr.DISP_FLD});
       while( true ) {
-        String tok = token();            // Scan for 'id'
+        final String tok = token();      // Scan for 'id'
         if( tok == null ) break;         // end-of-struct-def
-        final String itok = tok.intern(); // Only 1 copy
         Type t = Type.SCALAR;            // Untyped, most generic field type
         Access tmodf = tmod();           // Field access mod; trailing '=' left for us
         if( peek('=') &&                 // Has type annotation?
             (t=typep(type_var)) == null) // Parse type, wrap ptrs
           t = Type.SCALAR;               // No type found, assume default
-        if( flds.find(fld -> Util.eq(fld._fld,itok) ) != -1 ) throw unimpl(); // cannot use same field name twice
-        flds.add(TypeFld.make(itok,t,tmodf,flds._len-1+ARG_IDX));
+        if( flds.find(fld -> Util.eq(fld._fld,tok) ) != -1 ) throw unimpl(); // cannot use same field name twice
+        flds.add(TypeFld.make(tok,t,tmodf,flds._len-1+ARG_IDX));
         if( !peek(';') ) break; // Final semi-colon is optional
       }
       return peek('}') ? TypeStruct.make("",false,true,flds) : null;
@@ -1233,7 +1256,6 @@ public class Parse implements Comparable<Parse> {
     int oldx = _x;
     String tok = token();
     if( tok==null ) return null;
-    tok = tok.intern();
     if( Util.eq(tok,"->") ) return Type.ANY; // Found -> return sentinel
     ConTypeNode t = _e.lookup_type(tok);
     if( t==null ) {              // Not a known type var
@@ -1254,8 +1276,7 @@ public class Parse implements Comparable<Parse> {
   // Require a closing character (after skipping WS) or polite error
   private void require( char c, int oldx ) {
     if( peek(c) ) return;
-    Parse bad = errMsg();       // Generic error
-    bad._x = oldx;              // Openning point
+    long bad = errMsg(oldx);    // Openning point
     err_ctrl3("Expected closing '"+c+"' but "+(_x>=_buf.length?"ran out of text":"found '"+(char)(_buf[_x])+"' instead"),bad);
   }
   private void require( String s, int oldx ) {
@@ -1370,7 +1391,7 @@ public class Parse implements Comparable<Parse> {
     Node mmem = mem();
     while( true ) {
       if( scope == e._scope ) return ptr;
-      ptr = gvn(new LoadNode(mmem,ptr,"^",null)); // Gen linked-list walk code, walking display slot
+      ptr = gvn(new LoadNode(mmem,ptr,"^",0)); // Gen linked-list walk code, walking display slot
       assert ptr.sharptr(mmem).is_display_ptr();
       e = e._par;                                 // Walk linked-list in parser also
     }
@@ -1396,8 +1417,8 @@ public class Parse implements Comparable<Parse> {
 
   // Insert a call, with memory splits.  Wiring happens later, and when a call
   // is wired it picks up projections to merge at the Fun & Parm nodes.
-  private Node do_call( Parse[] bads, Node... args ) { return do_call0(true,bads,args); }
-  private Node do_call0( boolean unpack, Parse[] bads, Node... args ) {
+  private Node do_call( long[] bads, Node... args ) { return do_call0(true,bads,args); }
+  private Node do_call0( boolean unpack, long[] bads, Node... args ) {
     CallNode call0 = new CallNode(unpack,bads,args);
     CallNode call = (CallNode)gvn(call0);
     // Call Epilog takes in the call which it uses to track wireable functions.
@@ -1422,69 +1443,21 @@ public class Parse implements Comparable<Parse> {
   private ErrNode err_ctrl1( Node.ErrMsg msg ) { return init(new ErrNode(Env.START,msg)); }
   private ErrNode err_ctrl2( String msg ) { return init(new ErrNode(ctrl(),errMsg(),msg)).unkeep(); }
   private void err_ctrl0(String s) { err_ctrl3(s,errMsg()); }
-  private void err_ctrl3(String s, Parse open) {
+  private void err_ctrl3(String s, long open) {
     set_ctrl(gvn(new ErrNode(ctrl(),open,s)));
   }
 
-  // Make a private clone just for delayed error messages
-  private Parse( Parse P ) {
-    _src  = P._src;
-    _buf  = P._buf;
-    _x    = P._x;
-    _lines= P._lines;
-    _gvn  = P._gvn;
-    _lastNWS = P._lastNWS;
-    _e    = null;  _nf  = null;  _pp  = null;  _str = null;
-  }
-  // Delayed error message, just record line/char index and share code buffer
-  Parse errMsg() { return errMsg(_x); }
-  Parse errMsg(int x) { Parse P = new Parse(this); P._x=x; return P; }
-  Parse[] errMsgs(int... xs) {
-    Parse[] Ps = new Parse[xs.length];
+  // Delayed error message, just record file id and char index
+  long errMsg() { return errMsg(_x); }
+  long errMsg(int x) { return SrcLoc.make(_fid,x); }
+  long[] errMsgs(int... xs) {
+    long[] locs = new long[xs.length];
     for( int i=0; i<xs.length; i++ )
-      Ps[i] = xs[i]==0 ? null : errMsg(xs[i]);
-    return Ps;
+      locs[i] = xs[i]==0 ? 0 : errMsg(xs[i]);
+    return locs;
   }
 
-  // Build a string of the given message, the current line being parsed,
-  // and line of the pointer to the current index.
-  public String errLocMsg(String s) {
-    if( s.charAt(0)=='\n' ) return s;
-    // find line start
-    int a=_x;
-    while( a > 0 && _buf[a-1] != '\n' ) --a;
-    if( _buf[a]=='\r' ) a++; // do not include leading \n or \n\r
-    // find line end
-    int b=_x;
-    while( b < _buf.length && _buf[b] != '\n' ) b++;
-    if( b < _buf.length ) b--; // do not include trailing \n or \n\r
-    // Find line number.  Bin-search returns the insertion-point, which is the NEXT
-    // line unless _x is exactly a line start.
-    int line = _lines.binary_search(_x); // Find zero-based line insertion point
-    if( line == _lines._len ||  _lines.at(line)>_x ) line--;
-    // error message using 1-based line
-    SB sb = new SB().p(_src).p(':').p(line+1).p(':').p(s).nl();
-    sb.p(new String(_buf,a,b-a)).nl();
-    int line_start = a;
-    for( int i=line_start; i<_x; i++ )
-      sb.p(' ');
-    return sb.p('^').nl().toString();
-  }
   // Handy for the debugger to print
 
   @Override public String toString() { return new String(_buf,_x,_buf.length-_x); }
-  @Override public boolean equals(Object loc) {
-    if( this==loc ) return true;
-    if( !(loc instanceof Parse) ) return false;
-    Parse p = (Parse)loc;
-    return _x==p._x && _src.equals(p._src);
-  }
-  @Override public int hashCode() {
-    return _src.hashCode()+_x;
-  }
-  @Override public int compareTo(Parse loc) {
-    int x = _src.compareTo(loc._src);
-    if( x!=0 ) return x;
-    return _x - loc._x;
-  }
 }
@@ -0,0 +1,75 @@
+package com.cliffc.aa;
+
+import com.cliffc.aa.util.Ary;
+import com.cliffc.aa.util.AryInt;
+import com.cliffc.aa.util.SB;
+
+// Compact source locations.  A location is a long packing a source-file id
+// (1-based, so a zero long is "no location") in the high word and a byte
+// offset in the low word.  Nodes and error messages carry these longs instead
+// of a Parse, so compiled graphs do not pin parser state.  The source bytes
+// are kept once per file while it compiles, and the line table is built
+// lazily on the first rendered error.  Reported errors pin their own Src, so
+// they still print after the compile drops its source.
+public abstract class SrcLoc {
+  public static final class Src {
+    final String _name;         // Usually a file name
+    final byte[] _buf;          // Source bytes
+    AryInt _lines;              // Byte offset of each line start, lazily built
+    Src( String name, byte[] buf ) { _name=name; _buf=buf; }
+    AryInt lines() {
+      if( _lines!=null ) return _lines;
+      AryInt lines = new AryInt();
+      lines.push(0);            // Line 0 at offset 0
+      for( int i=0; i<_buf.length; i++ )
+        if( _buf[i]=='\n' ) lines.push(i+1);
+      return (_lines=lines);
+    }
+  }
+  private static final Ary<Src> SRCS = new Ary<>(new Src[1],0);
+
+  // Register a source buffer, returning its file id
+  static int add( String name, byte[] buf ) { SRCS.push(new Src(name,buf)); return SRCS._len; }
+  // Drop a source at the end of its compile.  File ids are not reused while
+  // any earlier source is still held.
+  static void drop( int fid ) {
+    SRCS.set(fid-1,null);
+    while( SRCS._len>0 && SRCS.last()==null ) SRCS.pop();
+  }
+  // Drop all sources between top-level compiles; a failed compile may not
+  // have dropped its own.
+  static void reset() { SRCS.clear(); }
+  // Source for a location, or null if none or already dropped
+  public static Src src( long loc ) { return loc==0 || fid(loc)>SRCS._len ? null : SRCS.at(fid(loc)-1); }
+
+  static long make( int fid, int x ) { return ((long)fid<<32) | x; }
+  public static int fid( long loc ) { return (int)(loc>>>32); }
+  public static int x  ( long loc ) { return (int)loc; }
+
+  // Build a string of the given message, the line holding the location, and
+  // a pointer to the location.
+  public static String errLocMsg( Src src, long loc, String s ) {
+    if( src==null || s.charAt(0)=='\n' ) return s;
+    byte[] buf = src._buf;
+    int x = x(loc);
+    // find line start
+    int a=x;
+    while( a > 0 && buf[a-1] != '\n' ) --a;
+    if( a < buf.length && buf[a]=='\r' ) a++; // do not include leading \n or \n\r
+    // find line end
+    int b=x;
+    while( b < buf.length && buf[b] != '\n' ) b++;
+    if( b < buf.length ) b--; // do not include trailing \n or \n\r
+    // Find line number.  Bin-search returns the insertion-point, which is the NEXT
+    // line unless x is exactly a line start.
+    AryInt lines = src.lines();
+    int line = lines.binary_search(x); // Find zero-based line insertion point
+    if( line == lines._len ||  lines.at(line)>x ) line--;
+    // error message using 1-based line
+    SB sb = new SB().p(src._name).p(':').p(line+1).p(':').p(s).nl();
+    sb.p(new String(buf,a,b-a)).nl();
+    for( int i=a; i<x; i++ )
+      sb.p(' ');
+    return sb.p('^').nl().toString();
+  }
+}
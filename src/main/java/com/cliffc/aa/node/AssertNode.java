@@ -3,7 +3,6 @@ package com.cliffc.aa.node;
 import com.cliffc.aa.AA;
 import com.cliffc.aa.Env;
 import com.cliffc.aa.GVNGCM;
-import com.cliffc.aa.Parse;
 import com.cliffc.aa.type.*;
 
 import java.util.Arrays;
@@ -17,9 +16,9 @@ import static com.cliffc.aa.AA.*;
 // and the join is non-trivial.
 public class AssertNode extends Node {
   private final Type _t;            // Asserted type
-  private final Parse _error_parse; // Used for error messages
+  private final long _error_parse;  // Used for error messages
   private final Env _env;           // Lexical scope
-  public AssertNode( Node mem, Node a, Type t, Parse P, Env e ) {
+  public AssertNode( Node mem, Node a, Type t, long P, Env e ) {
     super(OP_TYPE,null,mem,a);
     assert !(t instanceof TypeFunPtr);
     _t=t;
@@ -47,16 +46,16 @@ public class AssertNode extends Node {
         FunNode fun = (FunNode)X.init(new FunNode(null,sig,-1,false).add_def(Env.ALL_CTRL));
         fun._val = Type.CTRL;
         args[CTL_IDX] = fun;            // Call control
-        args[MEM_IDX] = X.xform(new ParmNode(MEM_IDX," mem",fun,TypeMem.MEM,Env.DEFMEM,null));
+        args[MEM_IDX] = X.xform(new ParmNode(MEM_IDX," mem",fun,TypeMem.MEM,Env.DEFMEM,0));
         args[DSP_IDX] = X.xform(new ParmNode(DSP_IDX,"^"   ,fun,(ConNode)Node.con(TypeMemPtr.DISP_SIMPLE),_error_parse));
         for( TypeFld fld : sig._formals.flds() )
           if( fld._order >= ARG_IDX )
             // All the parms; types in the function signature
             args[fld._order] = X.xform(new ParmNode(fld,fun,(ConNode)Node.con(Type.SCALAR),_error_parse));
         args[sig.nargs()] = arg;        // The whole TFP to the call
-        Parse[] badargs = new Parse[sig.nargs()];
+        long[] badargs = new long[sig.nargs()];
         Arrays.fill(badargs,_error_parse);
-        Node rpc= X.xform(new ParmNode(0," rpc",fun,Env.ALL_CALL,null));
+        Node rpc= X.xform(new ParmNode(0," rpc",fun,Env.ALL_CALL,0));
         CallNode call = (CallNode)X.xform(new CallNode(true,badargs,args));
         Node cepi   = X.xform(new CallEpiNode(/*TODO: Suspect need to carry a prior Env thru*/call,Env.DEFMEM));
         Node ctl    = X.xform(new CProjNode(cepi));
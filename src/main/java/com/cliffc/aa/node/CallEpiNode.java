@@ -5,7 +5,7 @@ import com.cliffc.aa.Env;
 import com.cliffc.aa.GVNGCM;
 import com.cliffc.aa.tvar.TV2;
 import com.cliffc.aa.type.*;
-import com.cliffc.aa.util.NonBlockingHashMap;
+import com.cliffc.aa.util.SmallMap;
 
 import static com.cliffc.aa.AA.*;
 import static com.cliffc.aa.Env.GVN;
@@ -354,9 +354,9 @@ public final class CallEpiNode extends Node {
     if( Combo.DO_HM && opt_mode._CG ) {
       // Walk the inputs, building a mapping
       CallNode call = call();
-      TV2.T2MAP.clear();
+      TV2.lift_start();
       for( int i=DSP_IDX; i<call._defs._len-1; i++ )
-        { TV2.WDUPS.clear(); call.tvar(i).walk_types_in(caller_mem,call.val(i)); }
+        { TV2.lift_arg(); call.tvar(i).walk_types_in(caller_mem,call.val(i)); }
       // Walk the outputs, building an improved result
       Type trez2 = tvar().walk_types_out(trez,this);
       Type trez3 = trez2.join(trez); // Lift result
@@ -498,7 +498,7 @@ public final class CallEpiNode extends Node {
     boolean progress = false;
     if( !tfun.is_fun() ) {
       if( work==null ) return true;
-      NonBlockingHashMap<String,TV2> args = new NonBlockingHashMap<>();
+      SmallMap<TV2> args = new SmallMap<>();
       for( int i=DSP_IDX; i<call._defs._len-1; i++ )
         args.put(""+i,call.tvar(i));
       args.put(" ret",tvar);
@@ -2,7 +2,6 @@ package com.cliffc.aa.node;
 
 import com.cliffc.aa.Env;
 import com.cliffc.aa.GVNGCM;
-import com.cliffc.aa.Parse;
 import com.cliffc.aa.tvar.TV2;
 import com.cliffc.aa.type.*;
 import com.cliffc.aa.util.Ary;
@@ -92,8 +91,8 @@ public class CallNode extends Node {
   // Example: call(arg1,arg2)
   // _badargs[0] points to the opening paren.
   // _badargs[1] points to the start of arg1, same for arg2, etc.
-  Parse[] _badargs;         // Errors for e.g. wrong arg counts or incompatible args; one error point per arg.
-  public CallNode( boolean unpacked, Parse[] badargs, Node... defs ) {
+  long[] _badargs;          // Errors for e.g. wrong arg counts or incompatible args; one error point per arg.
+  public CallNode( boolean unpacked, long[] badargs, Node... defs ) {
     super(OP_CALL,defs);
     assert defs[DSP_IDX]==null || defs[DSP_IDX]._val==Type.ALL || defs[DSP_IDX]._val==Type.ANY || defs[DSP_IDX]._val instanceof TypeMemPtr; // Temp; not required
     assert defs.length > DSP_IDX+1;
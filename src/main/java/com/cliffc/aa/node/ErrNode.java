@@ -1,7 +1,6 @@
 package com.cliffc.aa.node;
 
 import com.cliffc.aa.GVNGCM;
-import com.cliffc.aa.Parse;
 import com.cliffc.aa.type.Type;
 import com.cliffc.aa.type.TypeMem;
 
@@ -9,13 +8,13 @@ import com.cliffc.aa.type.TypeMem;
  *  is not well-typed. */
 public final class ErrNode extends Node {
   final ErrMsg _err;
-  public ErrNode( Node ctrl, Parse loc, String msg ) { this(ctrl,new ErrMsg(loc,msg,Level.ErrNode)); }
+  public ErrNode( Node ctrl, long loc, String msg ) { this(ctrl,new ErrMsg(loc,msg,Level.ErrNode)); }
   public ErrNode( Node ctrl, ErrMsg err ) {
     super(OP_ERR,ctrl);
     _err = err;
     _live= TypeMem.LIVE_BOT;
   }
-  @Override public String xstr() { return _err._msg; }
+  @Override public String xstr() { return _err.msg(); }
   @Override String str() { return "Err"; }
   @Override public Node ideal_reduce() {  Node cc = in(0).is_copy(0);  return cc==null ? null : set_def(0,cc); }
   @Override public Type value(GVNGCM.Mode opt_mode) {
@@ -6,14 +6,12 @@ import com.cliffc.aa.tvar.TV2;
 import com.cliffc.aa.type.*;
 import static com.cliffc.aa.AA.unimpl;
 
-import java.util.Arrays;
-
 // "fresh" the incoming TVar: make a fresh instance.
 public class FreshNode extends UnOrFunPtrNode {
-  TV2[] _tv2s;                  // Compacted VStack of nongen TV2s, used during "fresh"
+  final Env.VStack _vs;         // Lexical scope of the use; nongen TV2s are bound here or outside
    public FreshNode( Env.VStack vs, Node ctrl, Node ld ) {
      super(OP_FRESH, ctrl, ld);
-     _tv2s = vs.compact();
+     _vs = vs;
      ld.tvar().push_dep(this);
    }
 
@@ -56,12 +54,12 @@ public class FreshNode extends UnOrFunPtrNode {
   }
 
   @Override public boolean unify( Work work ) {
-    return tvar(1).fresh_unify(tvar(),_tv2s,work);
+    return tvar(1).fresh_unify(tvar(),_vs,work);
   }
   @Override public void add_work_hm(Work work) {
     work.add(in(1));
     TV2 t = tvar(1);
-    if( t.nongen_in(_tv2s) )
+    if( t.nongen_in(_vs) )
       t.add_deps_work(work); // recursive work.add(_deps)
   }
 
@@ -75,11 +73,11 @@ public class FreshNode extends UnOrFunPtrNode {
     return id() instanceof UnOrFunPtrNode ? ((UnOrFunPtrNode)id()).funptr() : null;
   }
 
-  @Override public int hashCode() { return super.hashCode()+Arrays.hashCode(_tv2s); }
+  @Override public int hashCode() { return super.hashCode()+(_vs==null ? 0 : _vs.hashCode()); }
   @Override public boolean equals(Object o) {
     if( this==o ) return true;
     if( !super.equals(o) ) return false;
-    return (o instanceof FreshNode) && Arrays.equals(_tv2s,((FreshNode)o)._tv2s);
+    return (o instanceof FreshNode) && _vs==((FreshNode)o)._vs;
   }
 
 }
@@ -9,7 +9,6 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.BitSet;
 import java.util.HashMap;
-import java.util.Map;
 
 import static com.cliffc.aa.AA.*;
 
@@ -72,6 +71,8 @@ public class FunNode extends RegionNode {
   private TV2[] _nongens;
 
   private byte _cnt_size_inlines; // Count of size-based inlines; prevents infinite unrolling via inlining
+  static final int MAX_TYPE_SPECIALS=8; // Per-function clone budget for type specialization
+  private int _inline_cost=-1;  // Last computed body cost, used to order the inline worklist
   public static int _must_inline; // Used for asserts
 
   // Used to make the primitives at boot time.  Note the empty displays: in
@@ -99,14 +100,14 @@ public class FunNode extends RegionNode {
 
   // Find FunNodes by fidx
   static Ary<FunNode> FUNS = new Ary<>(new FunNode[]{null,});
-  public static void reset() { FUNS.clear(); _must_inline=0; }
+  public static void reset() { FUNS.clear(); SPECIALS.clear(); SPECIAL_CNTS.clear(); _must_inline=0; INLINE_GROWTH=0; }
   public static FunNode find_fidx( int fidx ) { return FUNS.atX(fidx); }
   int fidx() { return _fidx; }
 
   // Short self name
   @Override public String xstr() { return name(); }
   // Inline longer info
-  @Override public String str() { return is_forward_ref() ? xstr() : _sig.str(new SB(),new VBitSet(),null,false).toString(); }
+  @Override public String str() { return is_forward_ref() ? xstr() : _sig.str(false); }
   // Name from fidx alone
   private static String name( int fidx, boolean debug) {
     FunNode fun = find_fidx(fidx);
@@ -286,14 +287,16 @@ public class FunNode extends RegionNode {
       if( path == -1 ) return null;
       assert CallNode.ttfp(in(path).val(0)).fidx()!=-1; // called by a single-target call
       if( !is_prim() ) _cnt_size_inlines++; // Disallow infinite size-inlining of recursive non-primitives
+      if( !check_progress ) INLINE_GROWTH += _inline_cost; // Charge the global growth budget
     }
 
-    // Check for dups (already done this but failed to resolve all calls, so trying again).
-    TypeStruct fformals = formals;
-    if( path == -1 && FUNS.find(fun -> fun != null && !fun.is_dead() &&
-                                fun._sig._formals==fformals && fun._sig._ret == _sig._ret &&
-                                fun.in(1)==in(1)) != -1 )
-      return null;              // Done this before
+    // Check for dups (already done this but failed to resolve all calls, so
+    // trying again).  The prior clone is already reachable from every caller
+    // via the UnresolvedNode made at the split, so nothing more to do.
+    if( path == -1 ) {
+      if( find_special(formals) != null ) return null;
+      if( over_special_budget() ) return null;
+    }
     if( noinline() ) return null;
 
     assert _must_inline==0; // Failed to inline a prior inline?
@@ -302,7 +305,10 @@ public class FunNode extends RegionNode {
 
     // --------------
     // Split the callers according to the new 'fun'.
+    int oldfidx = fidx();
     FunNode fun = make_new_fun(ret, formals);
+    if( path == -1 )            // Record the type-specialization
+      record_special(oldfidx,formals,fun);
     split_callers(ret,fun,body,path);
     assert Env.START.more_flow(Env.GVN._work_flow,true)==0; // Initial conditions are correct
     return this;
@@ -482,6 +488,38 @@ public class FunNode extends RegionNode {
   }
 
 
+  // Type-specialization cache.  Keyed by the original (root) fidx, before any
+  // splitting, and the specialized formals.  Repeated requests for the same
+  // specialization find the prior clone instead of cloning again.  All clones
+  // from the same original share one budget of MAX_TYPE_SPECIALS.
+  private static final HashMap<Long,FunNode> SPECIALS = new HashMap<>();
+  private static final AryInt SPECIAL_CNTS = new AryInt(); // Root fidx -> count of type-specialized clones
+  private static long special_key( int root, TypeStruct formals ) { return ((long)root<<32) | formals._uid; }
+  // Walk the fidx split tree back to the original function fidx
+  private static int root_fidx( int fidx ) {
+    int par;
+    while( (par=BitsFun.parent(fidx)) != BitsFun.ALL && par != 0 ) fidx = par;
+    return fidx;
+  }
+  // Record a type-specialized clone split from oldfidx
+  void record_special( int oldfidx, TypeStruct formals, FunNode fun ) {
+    int root = root_fidx(oldfidx);
+    if( !is_prim() ) SPECIAL_CNTS.setX(root,SPECIAL_CNTS.atX(root)+1);
+    SPECIALS.put(special_key(root,formals),fun);
+  }
+  // Primitives are not limited
+  boolean over_special_budget() {
+    return !is_prim() && SPECIAL_CNTS.atX(root_fidx(fidx())) >= MAX_TYPE_SPECIALS;
+  }
+  // A live clone specialized with these formals, or null
+  FunNode find_special( TypeStruct formals ) {
+    FunNode fun = SPECIALS.get(special_key(root_fidx(fidx()),formals));
+    if( fun==null ) return null;
+    if( fun.is_dead() || fun._sig._formals!=formals || fun._sig._ret!=_sig._ret || fun.in(1)!=in(1) )
+      { SPECIALS.remove(special_key(root_fidx(fidx()),formals)); return null; } // Stale
+    return fun;
+  }
+
   // Return the function body.
   private Ary<Node> find_body( RetNode ret ) {
     // Find the function body.  Do a forwards walk first, stopping at the
@@ -534,13 +572,54 @@ public class FunNode extends RegionNode {
     return body;
   }
 
+  // Inlining cost model.  Per-opcode cost of a cloned Node; opcodes not
+  // listed track & control values but do not generate any code (constants,
+  // parms, phis, rpcs, types, unresolved, casts).
+  private static final int[] INLINE_COSTS = new int[OP_MAX];
+  static {
+    INLINE_COSTS[OP_CALL  ] = 6; // Careful inlining more calls; leads to exponential growth
+    INLINE_COSTS[OP_LOAD  ] = 3;
+    INLINE_COSTS[OP_STORE ] = 6;
+    INLINE_COSTS[OP_PRIM  ] = 2; // Allow small-ish primitive counts to inline
+    INLINE_COSTS[OP_NEWOBJ] = 6; // Display and return is OK
+    INLINE_COSTS[OP_NEWARY] = 6;
+    INLINE_COSTS[OP_NEWSTR] = 6;
+    INLINE_COSTS[OP_IF    ] = 3;
+    INLINE_COSTS[OP_SPLIT ] = 1;
+    INLINE_COSTS[OP_JOIN  ] = 1;
+  }
+  // The old fixed limits each allowed about 12 of cost in one opcode class
+  // (6 prims, 4 loads, 2 calls or stores); the budget allows about two such
+  // classes at their old limit.  Size-inlined bodies over the test suite
+  // cost at most 14.
+  static final int INLINE_BUDGET = 24;  // Max body cost, before any benefit
+  static final int INLINE_CON_BONUS = 3;// Extra allowed cost per constant argument
+  // Only there to stop runaway growth: the most size-inlining in any one
+  // test program costs 67.
+  public static final int INLINE_GROWTH_BUDGET = 4000; // Max total cost of size-inlining per compilation
+  public static int INLINE_GROWTH;      // Total cost of size-inlining so far
+  // Inline worklist priority, cheapest bodies first.  Until split_size costs
+  // the body, estimate it from the opcodes alone.  No RetNode yet sorts last.
+  int inline_cost() {
+    if( _inline_cost == -1 ) {
+      RetNode ret = ret();
+      if( ret == null ) return Integer.MAX_VALUE;
+      int cost = 0;
+      for( Node n : find_body(ret) ) cost += INLINE_COSTS[n._op];
+      _inline_cost = cost;
+    }
+    return _inline_cost;
+  }
+
   // Split a single-use copy (e.g. fully inline) if the function is "small
-  // enough".  Include anything with just a handful of primitives, or a single
-  // call, possible with a single if.  Disallow functions returning a new
-  // allocation & making other (possibly recursive) calls: the recursive-loop
-  // prevents lifting the allocations from the default parent to either child
-  // without a full GCP pass - which means we split_size but then cannot inline
-  // in CEPI because the Ret memory type will never lift to the default memory.
+  // enough", according to the cost model: the body cost is allowed to grow
+  // with the number of constant arguments on the chosen path, and with the
+  // amount of code those constants are expected to fold away.  Disallow
+  // functions returning a new allocation & making other (possibly recursive)
+  // calls: the recursive-loop prevents lifting the allocations from the
+  // default parent to either child without a full GCP pass - which means we
+  // split_size but then cannot inline in CEPI because the Ret memory type will
+  // never lift to the default memory.
   private int split_size( Ary<Node> body, Node[] parms ) {
     if( _defs._len <= 1 ) return -1; // No need to split callers if only 2
     boolean self_recursive=false;
@@ -550,6 +629,7 @@ public class FunNode extends RegionNode {
     // dependencies but make no code.
     int call_indirect=0, call_thunk=0; // Count of calls to e.g. loads/args/parms
     int[] cnts = new int[OP_MAX];
+    int cost = 0;
     for( Node n : body ) {
       int op = n._op;           // opcode
       if( op == OP_CALL ) {     // Call-of-primitive?
@@ -568,29 +648,24 @@ public class FunNode extends RegionNode {
           call_indirect++;
       }
       cnts[op]++;               // Histogram ops
+      cost += INLINE_COSTS[op];
     }
     assert cnts[OP_FUN]==1 && cnts[OP_RET]==1;
     assert cnts[OP_SCOPE]==0;
     assert cnts[OP_REGION] <= cnts[OP_IF];
+    _inline_cost = cost;        // Record for worklist ordering
 
-    // Specifically ignoring constants, parms, phis, rpcs, types,
-    // unresolved, and casts.  These all track & control values, but actually
-    // do not generate any code.
-    if( cnts[OP_CALL] > 2 || // Careful inlining more calls; leads to exponential growth
-        cnts[OP_LOAD] > 4 ||
-        cnts[OP_STORE]> 2 ||
-        cnts[OP_PRIM] > 6 ||   // Allow small-ish primitive counts to inline
-        cnts[OP_NEWOBJ]>2 ||   // Display and return is OK
-        (cnts[OP_NEWOBJ]>1 && self_recursive) ||
+    if( (cnts[OP_NEWOBJ]>1 && self_recursive) ||
         call_indirect > 0 )
       return -1;
 
     if( !Env.GVN._opt_mode._CG && self_recursive ) return -1; // Await GCP & call-graph discovery before inlining self-recursive functions
+    if( INLINE_GROWTH + cost > INLINE_GROWTH_BUDGET && !is_prim() ) return -1; // Global code growth exhausted
 
     // Pick which input to inline.  Only based on having some constant inputs
     // right now.
     Node mem = parms[MEM_IDX];  // Memory, used to sharpen input ptrs
-    int m=-1, mncons = -1;
+    int m=-1, mncons = -1, mbenefit = 0;
     for( int i=has_unknown_callers() ? 2 : 1; i<_defs._len; i++ ) {
       Node call = in(i).in(0);
       if( !(call instanceof CallNode) ) continue; // Not well formed
@@ -600,7 +675,7 @@ public class FunNode extends RegionNode {
       int fidx = tfp.fidxs().abit();
       if( fidx < 0 || BitsFun.is_parent(fidx) ) continue;    // Call must only target one fcn
       if( self_recursive && body.find(call)!=-1 ) continue; // Self-recursive; amounts to unrolling
-      int ncon=0;
+      int ncon=0, benefit=0;
       // Count constant inputs on non-error paths
       for( TypeFld arg : _sig._formals.flds() ) {
         Node parm = parms[arg._order];
@@ -609,21 +684,35 @@ public class FunNode extends RegionNode {
           Type formal = arg._t;
           if( !actual.isa(formal) ) // Path is in-error?
             { ncon = -2; break; }   // This path is in-error, cannot inline even if small & constants
-          if( actual.is_con() ) ncon++; // Count constants along each path
+          if( actual.is_con() ) {   // Count constants along each path
+            ncon++;
+            benefit += fold_benefit(parm);
+          }
         }
       }
-      if( ncon > mncons )
-        { mncons = ncon; m = i; } // Path with the most constants
+      if( ncon > mncons || (ncon==mncons && benefit > mbenefit) )
+        { mncons = ncon; m = i; mbenefit = benefit; } // Path with the most constants
     }
     if( m == -1 )               // No paths are not in-error? (All paths have an error-parm)
       return -1;                // No inline
 
-    if( cnts[OP_IF] > 1+mncons) // Allow some trivial filtering to inline
+    // Body cost, less the expected folding, has to fit in the budget.
+    if( cost - mbenefit > INLINE_BUDGET + INLINE_CON_BONUS*mncons )
       return -1;
 
     return m;                   // Return path to split on
   }
 
+  // Estimated cost of the code removed after inlining with a constant for
+  // this parm: the direct users which are likely to constant-fold.
+  private static int fold_benefit( Node parm ) {
+    int benefit = 0;
+    for( Node use : parm._uses )
+      if( use._op==OP_PRIM || use._op==OP_IF )
+        benefit += INLINE_COSTS[use._op];
+    return benefit;
+  }
+
   private FunNode make_new_fun(RetNode ret, TypeStruct new_formals) {
     // Make a prototype new function header split from the original.
     int oldfidx = fidx();
@@ -686,7 +775,7 @@ public class FunNode extends RegionNode {
     }
 
     // Map from old to cloned function body
-    HashMap<Node,Node> map = new HashMap<>();
+    IdentMap<Node,Node> map = new IdentMap<>();
     // Collect aliases that are cloning.
     BitSet aliases = new BitSet();
     // Clone the function body
@@ -707,8 +796,8 @@ public class FunNode extends RegionNode {
 
     // Fill in edges.  New Nodes point to New instead of Old; everybody
     // shares old nodes not in the function (and not cloned).
-    for( Node n : map.keySet() ) {
-      Node c = map.get(n);
+    for( int i=0; i<map.size(); i++ ) {
+      Node n = map.key(i), c = map.val(i);
       assert c._defs._len==0;
       for( Node def : n._defs ) {
         Node newdef = map.get(def);// Map old to new
@@ -733,7 +822,7 @@ public class FunNode extends RegionNode {
           Node new_funptr = map.get(old_funptr);
           new_funptr.insert(old_funptr);
           new_funptr.xval(); // Build type so Unresolved can compute type
-          UnresolvedNode new_unr = new UnresolvedNode(null,new_funptr);
+          UnresolvedNode new_unr = new UnresolvedNode(0,new_funptr);
           old_funptr.insert(new_unr);
           new_unr.add_def(old_funptr);
           new_unr._val = new_unr.value(GVNGCM.Mode.PesiNoCG);
@@ -753,9 +842,9 @@ public class FunNode extends RegionNode {
 
     // For all aliases split in this pass, update in-node both old and new.
     // This changes their hash, and afterwards the keys cannot be looked up.
-    for( Map.Entry<Node,Node> e : map.entrySet() )
-      if( e.getKey() instanceof MemSplitNode )
-        ((MemSplitNode)e.getKey()).split_alias(e.getValue(),aliases);
+    for( int i=0; i<map.size(); i++ )
+      if( map.key(i) instanceof MemSplitNode )
+        ((MemSplitNode)map.key(i)).split_alias(map.val(i),aliases);
 
     // Wired Call Handling:
     if( has_unknown_callers() ) { // Not called by any unknown caller
@@ -781,9 +870,9 @@ public class FunNode extends RegionNode {
 
     // Put all new nodes into the GVN tables and worklist
     boolean split_alias=false;
-    for( Map.Entry<Node,Node> e : map.entrySet() ) {
-      Node oo = e.getKey();     // Old node
-      Node nn = e.getValue();   // New node
+    for( int i=0; i<map.size(); i++ ) {
+      Node oo = map.key(i);     // Old node
+      Node nn = map.val(i);     // New node
       Type nt = oo._val;        // Generally just copy type from original nodes
       if( nn instanceof MrgProjNode ) { // Cloned allocations registers with default memory
         MrgProjNode nnrg = (MrgProjNode)nn;
@@ -853,7 +942,8 @@ public class FunNode extends RegionNode {
 
     // Look for wired new not-recursive CallEpis; these will have an outgoing
     // edge to some other RetNode, but the Call will not be wired.  Wire.
-    for( Node nn : map.values() ) {
+    for( int j=0; j<map.size(); j++ ) {
+      Node nn = map.val(j);
       if( nn instanceof CallEpiNode ) {
         CallEpiNode ncepi = (CallEpiNode)nn;
         for( int i=0; i<ncepi.nwired(); i++ ) {
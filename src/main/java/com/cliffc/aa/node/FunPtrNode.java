@@ -2,7 +2,6 @@ package com.cliffc.aa.node;
 
 import com.cliffc.aa.Env;
 import com.cliffc.aa.GVNGCM;
-import com.cliffc.aa.Parse;
 import com.cliffc.aa.tvar.TV2;
 import com.cliffc.aa.type.*;
 
@@ -185,7 +184,7 @@ public final class FunPtrNode extends UnOrFunPtrNode {
   // declared.  Hence we want a callable function pointer, but have no defined
   // body (yet).  Make a function pointer that takes/ignores all args, and
   // returns a scalar.
-  public static FunPtrNode forward_ref( GVNGCM gvn, String name, Parse unkref, Env e ) {
+  public static FunPtrNode forward_ref( GVNGCM gvn, String name, long unkref, Env e ) {
     FunNode fun = gvn.init(new FunNode(name)).unkeep(2);
     RetNode ret = gvn.init(new RetNode(fun,Node.con(TypeMem.MEM),Node.con(Type.SCALAR),Node.con(TypeRPC.ALL_CALL),fun)).unkeep(2);
     gvn.add_flow(fun);
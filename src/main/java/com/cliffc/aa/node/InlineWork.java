@@ -0,0 +1,69 @@
+package com.cliffc.aa.node;
+
+import com.cliffc.aa.util.AryInt;
+
+// Inline worklist, a binary min-heap on FunNode inline cost: cheapest bodies
+// inline first, so the global code-growth budget is spent on the most
+// functions.  The cost is read when a function is pushed; a function already
+// on the worklist keeps its place.  Indices in at/del are heap positions.
+public class InlineWork extends Work {
+  private final AryInt _costs = new AryInt(); // Heap keys, parallel to _work
+
+  public InlineWork() { super("inline",false); }
+  @Override public Node apply(Node n) { return ((FunNode)n).ideal_inline(false); }
+
+  @Override public <N extends Node> N add(N n) {
+    if( n==null || _on.tset(n._uid) ) return n;
+    int cost = ((FunNode)n).inline_cost();
+    _work.push(n);  _costs.push(cost);
+    up(_work._len-1,n,cost);
+    return n;
+  }
+
+  @Override public Node pop() {
+    if( _work._len==0 ) return null;
+    Node n = _work.at(0);
+    del(0);
+    return n;
+  }
+
+  // Remove the entry at heap position i: the last entry fills the hole and
+  // sifts whichever way restores the heap.
+  @Override public void del(int i) {
+    _on.clear(_work.at(i)._uid);
+    Node last = _work.pop();
+    int cost = _costs.pop();
+    if( i == _work._len ) return; // Removed the last entry
+    if( i > 0 && cost < _costs.at((i-1)>>1) ) up(i,last,cost);
+    else down(i,last,cost);
+  }
+  @Override public void del(Node n) {
+    if( !_on.get(n._uid) ) return;
+    del(_work.find(n));
+  }
+  @Override public void clear() { super.clear(); _costs.clear(); }
+
+  // Place n with cost at position i, moving it towards the root
+  private void up(int i, Node n, int cost) {
+    while( i>0 ) {
+      int p = (i-1)>>1;
+      if( _costs.at(p) <= cost ) break;
+      _work.set(i,_work.at(p));  _costs.set(i,_costs.at(p));
+      i = p;
+    }
+    _work.set(i,n);  _costs.set(i,cost);
+  }
+  // Place n with cost at position i, moving it towards the leaves
+  private void down(int i, Node n, int cost) {
+    int len = _work._len;
+    while( true ) {
+      int c = (i<<1)+1;
+      if( c >= len ) break;
+      if( c+1 < len && _costs.at(c+1) < _costs.at(c) ) c++;
+      if( cost <= _costs.at(c) ) break;
+      _work.set(i,_work.at(c));  _costs.set(i,_costs.at(c));
+      i = c;
+    }
+    _work.set(i,n);  _costs.set(i,cost);
+  }
+}
@@ -2,7 +2,6 @@ package com.cliffc.aa.node;
 
 import com.cliffc.aa.Env;
 import com.cliffc.aa.GVNGCM;
-import com.cliffc.aa.Parse;
 import com.cliffc.aa.type.*;
 import com.cliffc.aa.util.Util;
 
@@ -13,8 +12,8 @@ import static com.cliffc.aa.AA.*;
 // Names an unaliased memory.  Needs to collapse away, or else an error.
 public class IntrinsicNode extends Node {
   public final TypeObj _tn;     // Named type
-  Parse _badargs;               // Filled in when inlined in CallNode
-  IntrinsicNode( TypeObj tn, Parse badargs, Node... ns ) {
+  long _badargs;                // Filled in when inlined in CallNode
+  IntrinsicNode( TypeObj tn, long badargs, Node... ns ) {
     super(OP_NAME,ns);
     _tn=tn;
     _badargs=badargs;
@@ -31,7 +30,7 @@ public class IntrinsicNode extends Node {
   // vtable name type in memory.  Unaliased, so the same memory cannot be
   // referred to without the Name.  Error if the memory cannot be proven
   // unaliased.  The Ideal call collapses the Name into the unaliased NewNode.
-  public static FunPtrNode convertTypeName( TypeObj tn, Parse badargs, GVNGCM gvn ) {
+  public static FunPtrNode convertTypeName( TypeObj tn, long badargs, GVNGCM gvn ) {
     // The incoming memory type is *exact* and does not have any extra fields.
     // The usual duck typing is "this-or-below", which allows and ignores extra
     // fields.  For Naming - which involves installing a v-table (or any other
@@ -44,8 +43,8 @@ public class IntrinsicNode extends Node {
       TypeStruct formals = TypeStruct.args(TypeMemPtr.STRUCT);
       TypeFunSig sig = TypeFunSig.make(formals,TypeTuple.make_ret(TypeMemPtr.make(BitsAlias.RECORD_BITS,tn)));
       FunNode fun = X.init2((FunNode)new FunNode(tn._name,sig,-1,false).add_def(Env.ALL_CTRL));
-      Node rpc = X.xform(new ParmNode(CTL_IDX," rpc",fun,Env.ALL_CALL,null));
-      Node mem = X.xform(new ParmNode(MEM_IDX," mem",fun,TypeMem.MEM,Env.DEFMEM,null));
+      Node rpc = X.xform(new ParmNode(CTL_IDX," rpc",fun,Env.ALL_CALL,0));
+      Node mem = X.xform(new ParmNode(MEM_IDX," mem",fun,TypeMem.MEM,Env.DEFMEM,0));
       Node ptr = X.xform(new ParmNode(ARG_IDX,"x",fun,(ConNode)Node.con(TypeMemPtr.make(BitsAlias.RECORD_BITS,TypeObj.ISUSED)),badargs));
       Node cvt = X.xform(new IntrinsicNode(tn,badargs,fun,mem,ptr));
       RetNode ret = (RetNode)X.xform(new RetNode(fun,cvt,ptr,rpc,fun));
@@ -129,7 +128,7 @@ public class IntrinsicNode extends Node {
   // Default name constructor using expanded args list.  Just a NewObjNode but the
   // result is a named type.  Same as convertTypeName on an unaliased NewObjNode.
   // Passed in a named TypeStruct, and the parent alias.
-  public static FunPtrNode convertTypeNameStruct( TypeStruct to, int alias, Parse bad ) {
+  public static FunPtrNode convertTypeNameStruct( TypeStruct to, int alias, long bad ) {
     assert to.has_name() && to.fld_find("^").is_display_ptr(); // Display already
     // Upgrade the type to one with no display for nnn.
     to = to.replace_fld(TypeFld.NO_DISP);
@@ -137,8 +136,8 @@ public class IntrinsicNode extends Node {
 
     try(GVNGCM.Build<FunPtrNode> X = Env.GVN.new Build<>()) {
       FunNode fun = (FunNode) X.xform(new FunNode(to._name,sig,-1,false).add_def(Env.ALL_CTRL));
-      Node rpc = X.xform(new ParmNode(  0    ," rpc",fun,Env.ALL_CALL,null));
-      Node memp= X.xform(new ParmNode(MEM_IDX," mem",fun,TypeMem.MEM,Env.DEFMEM,null));
+      Node rpc = X.xform(new ParmNode(  0    ," rpc",fun,Env.ALL_CALL,0));
+      Node memp= X.xform(new ParmNode(MEM_IDX," mem",fun,TypeMem.MEM,Env.DEFMEM,0));
       // Add input edges to the NewNode
       Node nodisp = Node.con(TypeMemPtr.NO_DISP);
       NewObjNode nnn = (NewObjNode)X.add(new NewObjNode(false,alias,to,nodisp));
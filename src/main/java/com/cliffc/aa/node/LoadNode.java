@@ -2,7 +2,6 @@ package com.cliffc.aa.node;
 
 import com.cliffc.aa.Env;
 import com.cliffc.aa.GVNGCM;
-import com.cliffc.aa.Parse;
 import com.cliffc.aa.type.*;
 import com.cliffc.aa.util.Util;
 import org.jetbrains.annotations.NotNull;
@@ -14,9 +13,9 @@ import static com.cliffc.aa.AA.MEM_IDX;
 // value depends on the struct typing.
 public class LoadNode extends Node {
   private final String _fld;
-  private final Parse _bad;
+  private final long _bad;
 
-  public LoadNode( Node mem, Node adr, String fld, Parse bad ) {
+  public LoadNode( Node mem, Node adr, String fld, long bad ) {
     super(OP_LOAD,null,mem,null,adr);
     _fld = fld;
     _bad = bad;
@@ -142,7 +141,7 @@ public class LoadNode extends Node {
           Type tmem0 = mem._val;
           Type tmem1 = ((CallEpiNode)mem0).call().mem()._val;
           if( !(tmem0 instanceof TypeMem) || !(tmem1 instanceof TypeMem) ) return null;
-          mem = _find_previous_store_call(aliases,(TypeMem)tmem0,(TypeMem)tmem1,(CallEpiNode)mem0,fld,is_load);
+          mem = _find_previous_store_call(adr,aliases,(TypeMem)tmem0,(TypeMem)tmem1,(CallEpiNode)mem0,fld,is_load);
           if( mem==null ) return null;
         } else if( mem0 instanceof MemSplitNode ) { // Lifting out of a split/join region
           mem = ((MemSplitNode)mem0).mem();
@@ -179,11 +178,13 @@ public class LoadNode extends Node {
   }
 
   // Can bypass call?  Return null if cannot or call.mem if can.
-  static private Node _find_previous_store_call( BitsAlias aliases, TypeMem tmem0, TypeMem tmem1, CallEpiNode cepi, String fld, boolean is_load ) {
+  static private Node _find_previous_store_call( Node adr, BitsAlias aliases, TypeMem tmem0, TypeMem tmem1, CallEpiNode cepi, String fld, boolean is_load ) {
     // TODO: Strengthen this.  Global no-esc can bypass, IF during inline/clone
     // each clone body updates both aliases everywhere.
     if( !is_load ) return null; // For now, Store types NEVER bypass a call.
     CallNode call = cepi.call();
+    // Local no-escape: the callee cannot reach this object.
+    if( NewNode.no_escape(adr) ) return call.mem();
     if( !tmem0.fld_is_mod(aliases,fld) && !tmem1.fld_is_mod(aliases,fld) )
       return call.mem(); // Loads from final memory can bypass calls.  Stores cannot, store-over-final is in error.
     TypeMemPtr escs = CallNode.tesc(call._val);
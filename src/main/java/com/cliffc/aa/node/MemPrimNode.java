@@ -53,14 +53,14 @@ public abstract class MemPrimNode extends PrimNode {
       try(GVNGCM.Build<FunPtrNode> X = gvn.new Build<>()) {
         assert _defs._len==0 && _uses._len==0;
         FunNode  fun = ( FunNode) X.xform(new  FunNode(this).add_def(Env.ALL_CTRL)); // Points to ScopeNode only
-        ParmNode rpc = (ParmNode) X.xform(new ParmNode( 0     ,"rpc" ,fun,Env.ALL_CALL,null));
-        ParmNode mem = (ParmNode) X.xform(new ParmNode(MEM_IDX," mem",fun,TypeMem.MEM,Env.DEFMEM,null));
+        ParmNode rpc = (ParmNode) X.xform(new ParmNode( 0     ,"rpc" ,fun,Env.ALL_CALL,0));
+        ParmNode mem = (ParmNode) X.xform(new ParmNode(MEM_IDX," mem",fun,TypeMem.MEM,Env.DEFMEM,0));
         fun._bal_close = bal_close();
         add_def(null);              // Control for the primitive in slot 0
         add_def(mem );              // Memory  for the primitive in slot 1
         while( len() < _sig.nargs() ) add_def(null);
           for( TypeFld arg : _sig._formals.flds() )
-          set_def(arg._order,X.xform(new ParmNode(arg._order, arg._fld, fun, (ConNode) Node.con(arg._t.simple_ptr()), null)));
+          set_def(arg._order,X.xform(new ParmNode(arg._order, arg._fld, fun, (ConNode) Node.con(arg._t.simple_ptr()), 0)));
         X.xform(this);
         // Functions return the set of *modified* memory.  ReadPrimNodes do not modify
         // memory.
@@ -175,14 +175,14 @@ public abstract class MemPrimNode extends PrimNode {
       try(GVNGCM.Build<FunPtrNode> X = gvn.new Build<>()) {
         assert _defs._len==0 && _uses._len==0;
         FunNode  fun = ( FunNode) X.xform(new  FunNode(this).add_def(Env.ALL_CTRL)); // Points to ScopeNode only
-        ParmNode rpc = (ParmNode) X.xform(new ParmNode( 0     ,"rpc" ,fun,Env.ALL_CALL,null));
-        ParmNode mem = (ParmNode) X.xform(new ParmNode(MEM_IDX," mem",fun,TypeMem.MEM,Env.DEFMEM,null));
+        ParmNode rpc = (ParmNode) X.xform(new ParmNode( 0     ,"rpc" ,fun,Env.ALL_CALL,0));
+        ParmNode mem = (ParmNode) X.xform(new ParmNode(MEM_IDX," mem",fun,TypeMem.MEM,Env.DEFMEM,0));
         fun._bal_close = bal_close();
         add_def(null);              // Control for the primitive in slot 0
         add_def(mem );              // Memory  for the primitive in slot 1
         while( len() < _sig.nargs() ) add_def(null);
         for( TypeFld arg : _sig._formals.flds() )
-          set_def(arg._order,X.xform(new ParmNode(arg._order,arg._fld,fun, (ConNode)Node.con(arg._t.simple_ptr()),null)));
+          set_def(arg._order,X.xform(new ParmNode(arg._order,arg._fld,fun, (ConNode)Node.con(arg._t.simple_ptr()),0)));
         // Write prims return both a value and memory.
         MemPrimNode prim = (MemPrimNode)X.xform(this);
         RetNode ret = (RetNode)X.xform(new RetNode(fun,prim,prim.rez(),rpc,fun));
@@ -3,7 +3,7 @@ package com.cliffc.aa.node;
 import com.cliffc.aa.tvar.TV2;
 import com.cliffc.aa.type.*;
 import com.cliffc.aa.util.Ary;
-import com.cliffc.aa.util.NonBlockingHashMap;
+import com.cliffc.aa.util.SmallMap;
 
 import static com.cliffc.aa.AA.ARG_IDX;
 
@@ -35,7 +35,7 @@ abstract class NewAryNode extends NewNode.NewPrimNode<TypeAry> {
   }
 
   @Override public TV2 new_tvar(String alloc_site) {
-    NonBlockingHashMap<String,TV2> args = new NonBlockingHashMap<String,TV2>(){{ put("elem",TV2.make_leaf(null,alloc_site)); }};
+    SmallMap<TV2> args = new SmallMap<>("elem",TV2.make_leaf(null,alloc_site));
     return TV2.make("Ary",this,alloc_site,args);
   }
 
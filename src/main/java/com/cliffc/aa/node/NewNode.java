@@ -133,14 +133,44 @@ public abstract class NewNode<T extends TypeObj<T>> extends Node {
     if( ptr instanceof MrgProjNode ) ptr = _uses.at(0); // Get ptr not mem
     if( ptr._keep>0 ) return false;
 
-    // Scan for memory contents being unreachable.
-    // Really stupid!
-    for( Node use : ptr._uses )
-      if( !(use instanceof IfNode) )
-        return false;
-    // Only used to nil-check (always not-nil) and equality (always unequal to
-    // other aliases).
-    return true;
+    // Scan for memory contents being unreachable.  Only used to nil-check
+    // (always not-nil), equality (always unequal to other aliases), and as
+    // the address of Stores - which nobody can read back.  This is the tail
+    // end of scalar replacement: all Loads have folded to the stored values.
+    return !escapes(ptr,false);
+  }
+
+  // Escape analysis.  True if the object's pointer never leaves the local
+  // function: every use (looking through Casts and Freshes) is a nil-check,
+  // or the address of a Load or Store.  Such an object cannot be reached by
+  // any Call, nor by any other instance of the same allocation site (e.g. a
+  // recursive call), so Loads can bypass Calls when looking for the prior
+  // Store.  Once all Loads fold away the fields are plain SSA values and the
+  // allocation dies in captured().
+  public static boolean no_escape( Node adr ) {
+    if( adr instanceof FreshNode ) adr = ((FreshNode)adr).id();
+    if( !(adr instanceof ProjNode) || adr instanceof MrgProjNode || ((ProjNode)adr)._idx!=REZ_IDX ) return false;
+    Node nnn = adr.in(0);
+    return nnn instanceof NewNode && nnn._keep==0 && adr._keep==0 && !escapes(adr,true);
+  }
+  private static boolean escapes( Node ptr, boolean loads ) {
+    for( Node use : ptr._uses ) {
+      switch( use._op ) {
+      case OP_IF: break;        // Nil-check only
+      case OP_CAST:             // Pointer copies; check their uses also
+      case OP_FRESH:
+        if( use._keep>0 || escapes(use,loads) ) return true;
+        break;
+      case OP_LOAD:
+        if( !loads ) return true; // Memory contents are read
+        break;
+      case OP_STORE:
+        if( ((StoreNode)use).rez()==ptr ) return true; // Pointer stored into memory
+        break;
+      default: return true;     // Calls, Phis, Rets, FunPtr displays, fields of other objects, etc
+      }
+    }
+    return false;
   }
 
   // clones during inlining all become unique new sites
@@ -193,8 +223,8 @@ public abstract class NewNode<T extends TypeObj<T>> extends Node {
       try(GVNGCM.Build<FunPtrNode> X = gvn.new Build<>()) {
         assert in(0)==null && _uses._len==0;
         FunNode  fun = ( FunNode) X.xform(new  FunNode(this).add_def(Env.ALL_CTRL));
-        ParmNode rpc = (ParmNode) X.xform(new ParmNode(0,"rpc",fun,Env.ALL_CALL,null));
-        Node memp= X.xform(new ParmNode(MEM_IDX," mem",fun, TypeMem.MEM, Env.DEFMEM,null));
+        ParmNode rpc = (ParmNode) X.xform(new ParmNode(0,"rpc",fun,Env.ALL_CALL,0));
+        Node memp= X.xform(new ParmNode(MEM_IDX," mem",fun, TypeMem.MEM, Env.DEFMEM,0));
         fun._bal_close = bal_close();
 
         // Add input edges to the intrinsic
@@ -202,7 +232,7 @@ public abstract class NewNode<T extends TypeObj<T>> extends Node {
         while( len() < _sig.nargs() ) add_def(null);
         for( TypeFld arg : _sig._formals.flds() ) {
           if( arg._order==MEM_IDX ) continue; // Already handled MEM_IDX
-          set_def(arg._order,X.xform(new ParmNode(arg._order,arg._fld,fun, (ConNode)Node.con(arg._t.simple_ptr()),null)));
+          set_def(arg._order,X.xform(new ParmNode(arg._order,arg._fld,fun, (ConNode)Node.con(arg._t.simple_ptr()),0)));
         }
         NewNode nnn = (NewNode)X.xform(this);
         Node mem = Env.DEFMEM.make_mem_proj(nnn,memp);
@@ -2,7 +2,6 @@ package com.cliffc.aa.node;
 
 import com.cliffc.aa.Env;
 import com.cliffc.aa.GVNGCM;
-import com.cliffc.aa.Parse;
 import com.cliffc.aa.type.*;
 import com.cliffc.aa.tvar.TV2;
 import com.cliffc.aa.util.Ary;
@@ -22,7 +21,7 @@ import static com.cliffc.aa.type.TypeFld.Access;
 
 public class NewObjNode extends NewNode<TypeStruct> {
   public final boolean _is_closure; // For error messages
-  public       Parse[] _fld_starts; // Start of each tuple member; 0 for the display
+  public       long[] _fld_starts;  // Start of each tuple member; 0 for the display
   // NewNodes do not really need a ctrl; useful to bind the upward motion of
   // closures so variable stores can more easily fold into them.
   public NewObjNode( boolean is_closure, TypeStruct disp, Node clo ) {
@@ -74,7 +73,7 @@ public class NewObjNode extends NewNode<TypeStruct> {
 
 
   // Add a named FunPtr to a New.  Auto-inflates to a Unresolved as needed.
-  public FunPtrNode add_fun( Parse bad, String name, FunPtrNode ptr ) {
+  public FunPtrNode add_fun( long bad, String name, FunPtrNode ptr ) {
     TypeFld fld = _ts.fld_find(name);
     if( fld == null ) {
       create_active(name,ptr,Access.Final);
@@ -6,6 +6,7 @@ import com.cliffc.aa.type.*;
 import com.cliffc.aa.util.*;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
@@ -544,11 +545,11 @@ public abstract class Node implements Cloneable {
   public boolean remove_ambi() {return false;}
 
   // Do One Step of forwards-dataflow analysis.  Assert monotonic progress.
-  // If progressed, add neighbors on worklist.
-  public void combo_forwards(Work work) {
+  // If progressed, add neighbors on worklist and return true.
+  public boolean combo_forwards(Work work) {
     Type oval = _val;           // Old local type
     Type nval = value(GVNGCM.Mode.Opto);// New type
-    if( oval == nval ) return;  // No progress
+    if( oval == nval ) return false; // No progress
     assert nval==nval.simple_ptr() || this instanceof ConTypeNode; // Only simple pointers in node types
     assert oval.isa(nval);      // Monotonic
     _val = nval;                // Record progress
@@ -562,20 +563,22 @@ public abstract class Node implements Cloneable {
     // has no inputs.
     assert may_be_con_live(oval) || !may_be_con_live(oval); // May_be_con_live is monotonic
     if( may_be_con_live(oval) && !may_be_con_live(nval) )
-      for( Node def : _defs ) work.add(def); // Now check liveness
+      for( Node def : _defs ) work.add(def,Work.LIVE); // Now check liveness
+    return true;
   }
 
   // Do One Step of backwards-dataflow analysis.  Assert monotonic progress.
-  // If progressed, add neighbors on worklist.
-  public void combo_backwards(Work work) {
+  // If progressed, add neighbors on worklist and return true.
+  public boolean combo_backwards(Work work) {
     TypeMem oliv = _live;
     TypeMem nliv = live(GVNGCM.Mode.Opto);
-    if( oliv == nliv ) return;  // No progress
+    if( oliv == nliv ) return false; // No progress
     assert oliv.isa(nliv);      // Monotonic
     _live = nliv;               // Record progress
     add_work_extra(work,oliv);
     for( Node def : _defs )     // Classic reverse flow on change
-      if( def!=null ) work.add(def).add_work_def_extra(work,this);
+      if( def!=null ) work.add(def,Work.LIVE).add_work_def_extra(work,this);
+    return true;
   }
 
   // Do One Step of Hindley-Milner unification.  Assert monotonic progress.
@@ -957,64 +960,56 @@ public abstract class Node implements Cloneable {
 
   // Error messages
   public static class ErrMsg implements Comparable<ErrMsg> {
-    public       Parse _loc;    // Point in code to blame
-    public final String _msg;   // Printable error message, minus code context
+    public       long _loc;     // Point in code to blame; a packed SrcLoc, 0 for none
+    private      String _msg;   // Printable error message, minus code context
     public final Level _lvl;    // Priority for printing
     public int _order;          // Message order as they are found.
-    public static final ErrMsg FAST = new ErrMsg(null,"fast",Level.Syntax);
-    public static final ErrMsg BADARGS = new ErrMsg(null,"bad arguments",Level.BadArgs);
-    public ErrMsg(Parse loc, String msg, Level lvl) { _loc=loc; _msg=msg; _lvl=lvl; }
-    public static ErrMsg forward_ref(Parse loc, FunPtrNode fun) { return forward_ref(loc,fun._name); }
-    public static ErrMsg forward_ref(Parse loc, String name) {
+    private SrcLoc.Src _src;    // Source for the code context, once reported
+    public static final ErrMsg FAST = new ErrMsg(0,"fast",Level.Syntax);
+    public static final ErrMsg BADARGS = new ErrMsg(0,"bad arguments",Level.BadArgs);
+    public ErrMsg(long loc, String msg, Level lvl) { _loc=loc; _msg=msg; _lvl=lvl; }
+    public static ErrMsg forward_ref(long loc, FunPtrNode fun) { return forward_ref(loc,fun._name); }
+    public static ErrMsg forward_ref(long loc, String name) {
       return new ErrMsg(loc,"Unknown ref '"+name+"'",Level.ForwardRef);
     }
-    public static ErrMsg syntax(Parse loc, String msg) {
+    public static ErrMsg syntax(long loc, String msg) {
       return new ErrMsg(loc,msg,Level.Syntax);
     }
-    public static ErrMsg unresolved(Parse loc, String msg) {
+    public static ErrMsg unresolved(long loc, String msg) {
       return new ErrMsg(loc,msg,Level.UnresolvedCall);
     }
-    public static ErrMsg typerr( Parse loc, Type actual, Type t0mem, Type expected ) { return typerr(loc,actual,t0mem,expected,Level.TypeErr); }
-    public static ErrMsg typerr( Parse loc, Type actual, Type t0mem, Type expected, Level lvl ) {
-      TypeMem tmem = t0mem instanceof TypeMem ? (TypeMem)t0mem : null;
-      VBitSet vb = new VBitSet();
-      SB sb = actual.str(new SB(),vb, tmem, false).p(" is not a ");
-      vb.clear();
-      expected.str(sb,vb,null,false); // Expected is already a complex ptr, does not depend on memory
+    public static ErrMsg typerr( long loc, Type actual, Type t0mem, Type expected ) { return typerr(loc,actual,t0mem,expected,Level.TypeErr); }
+    public static ErrMsg typerr( long loc, Type actual, Type t0mem, Type expected, Level lvl ) {
       if( actual==Type.ALL && lvl==Level.TypeErr ) lvl=Level.AllTypeErr; // ALLs have failed earlier, so this is a lower priority error report
-      return new ErrMsg(loc,sb.toString(),lvl);
+      return new TypeErrMsg(loc,actual,t0mem,new Type[]{expected},lvl);
     }
-    public static ErrMsg typerr( Parse loc, Type actual, Type t0mem, Type[] expecteds ) {
-      TypeMem tmem = t0mem instanceof TypeMem ? (TypeMem)t0mem : null;
-      VBitSet vb = new VBitSet();
-      SB sb = actual.str(new SB(),vb, tmem,false);
-      sb.p( expecteds.length==1 ? " is not a " : " is none of (");
-      vb.clear();
-      for( Type expect : expecteds ) expect.str(sb,vb,null,false).p(',');
-      sb.unchar().p(expecteds.length==1 ? "" : ")");
-      return new ErrMsg(loc,sb.toString(),Level.TypeErr);
+    public static ErrMsg typerr( long loc, Type actual, Type t0mem, Type[] expecteds ) {
+      return new TypeErrMsg(loc,actual,t0mem,expecteds,Level.TypeErr);
     }
-    public static ErrMsg asserterr( Parse loc, Type actual, Type t0mem, Type expected ) {
+    public static ErrMsg asserterr( long loc, Type actual, Type t0mem, Type expected ) {
       return typerr(loc,actual,t0mem,expected,Level.Assert);
     }
-    public static ErrMsg field(Parse loc, String msg, String fld, boolean closure, TypeObj to) {
+    public static ErrMsg field(long loc, String msg, String fld, boolean closure, TypeObj to) {
       SB sb = new SB().p(msg).p(closure ? " val '" : " field '.").p(fld).p("'");
-      if( to != null && !closure ) to.str(sb.p(" in "),new VBitSet(),null,false);
+      if( to != null && !closure ) to.str(sb.p(" in "),null,false);
       return new ErrMsg(loc,sb.toString(),Level.Field);
     }
-    public static ErrMsg niladr(Parse loc, String msg, String fld) {
+    public static ErrMsg niladr(long loc, String msg, String fld) {
       String f = fld==null ? msg : msg+" field '."+fld+"'";
       return new ErrMsg(loc,f,Level.NilAdr);
     }
-    public static ErrMsg badGC(Parse loc) {
+    public static ErrMsg badGC(long loc) {
       return new ErrMsg(loc,"Cannot mix GC and non-GC types",Level.MixedPrimGC);
     }
-    public static ErrMsg trailingjunk(Parse loc) {
+    public static ErrMsg trailingjunk(long loc) {
       return new ErrMsg(loc,"Syntax error; trailing junk",Level.TrailingJunk);
     }
 
+    public String msg() { return _msg; }
+    // Hold on to the source, so this error prints after the compile is done
+    public ErrMsg pin() { if( _src==null ) _src = SrcLoc.src(_loc); return this; }
     @Override public String toString() {
-      return _loc==null ? _msg : _loc.errLocMsg(_msg);
+      return SrcLoc.errLocMsg(_src==null ? SrcLoc.src(_loc) : _src,_loc,msg());
     }
     @Override public int compareTo(ErrMsg msg) {
       int cmp = _lvl.compareTo(msg._lvl);
@@ -1028,15 +1023,49 @@ public abstract class Node implements Cloneable {
       if( this==obj ) return true;
       if( !(obj instanceof ErrMsg) ) return false;
       ErrMsg err = (ErrMsg)obj;
-      if( _lvl!=err._lvl || !_msg.equals(err._msg) ) return false;
+      if( _lvl!=err._lvl || !same_msg(err) ) return false;
       // Spread a missing loc; cheaty but only a little bit.
       // TODO: track down missing loc in Parser
-      if( _loc==null && err._loc!=null ) _loc=err._loc;
-      if( _loc!=null && err._loc==null ) err._loc=_loc;
-      return _loc==err._loc || _loc.equals(err._loc);
+      if( _loc==0 ) _loc=err._loc;
+      if( err._loc==0 ) err._loc=_loc;
+      return _loc==err._loc;
     }
+    // Equal messages print the same text, whatever their class, so the text
+    // is only compared within a hash bucket and never hashed.
     @Override public int hashCode() {
-      return (_loc==null ? 0 : _loc.hashCode())+_msg.hashCode()+_lvl.hashCode();
+      return Long.hashCode(_loc)+_lvl.hashCode();
+    }
+    boolean same_msg( ErrMsg err ) { return msg().equals(err.msg()); }
+  }
+
+  // Type errors keep the (interned) types, and only format them when printed.
+  // Most errors found are never printed.
+  private static class TypeErrMsg extends ErrMsg {
+    private final Type _actual;
+    private final TypeMem _tmem;
+    private final Type[] _expecteds;
+    TypeErrMsg( long loc, Type actual, Type t0mem, Type[] expecteds, Level lvl ) {
+      super(loc,null,lvl);
+      _actual = actual;
+      _tmem = t0mem instanceof TypeMem ? (TypeMem)t0mem : null;
+      _expecteds = expecteds;
+    }
+    @Override public String msg() {
+      if( super.msg()!=null ) return super.msg();
+      SB sb = _actual.str(new SB(),_tmem,false);
+      if( _expecteds.length==1 ) return (super._msg = _expecteds[0].str(sb.p(" is not a "),null,false).toString());
+      sb.p(" is none of (");
+      for( Type expect : _expecteds ) expect.str(sb,null,false).p(',');
+      return (super._msg = sb.unchar().p(")").toString());
+    }
+    // Same types print the same without formatting; else compare the text
+    @Override boolean same_msg( ErrMsg err ) {
+      if( err instanceof TypeErrMsg ) {
+        TypeErrMsg terr = (TypeErrMsg)err;
+        if( _actual==terr._actual && _tmem==terr._tmem && Arrays.equals(_expecteds,terr._expecteds) )
+          return true;
+      }
+      return super.same_msg(err);
     }
   }
 
@@ -1,7 +1,6 @@
 package com.cliffc.aa.node;
 
 import com.cliffc.aa.GVNGCM;
-import com.cliffc.aa.Parse;
 import com.cliffc.aa.type.Type;
 import com.cliffc.aa.type.TypeFld;
 
@@ -14,13 +13,13 @@ import static com.cliffc.aa.AA.MEM_IDX;
 public class ParmNode extends PhiNode {
   public final int _idx; // Parameter index, MEM_IDX, FUN_IDX is display, ARGIDX+ normal args
   final String _name;    // Parameter name
-  public ParmNode( int idx, String name, Node fun, ConNode defalt, Parse badgc) {
+  public ParmNode( int idx, String name, Node fun, ConNode defalt, long badgc) {
     this(idx,name,fun,defalt._t,defalt,badgc);
   }
-  public ParmNode( TypeFld fld, Node fun, ConNode defalt, Parse badgc) {
+  public ParmNode( TypeFld fld, Node fun, ConNode defalt, long badgc) {
     this(fld._order,fld._fld,fun,fld._t,defalt,badgc);
   }
-  public ParmNode( int idx, String name, Node fun, Type tdef, Node defalt, Parse badgc) {
+  public ParmNode( int idx, String name, Node fun, Type tdef, Node defalt, long badgc) {
     super(OP_PARM,fun,tdef,defalt,badgc);
     assert idx>=0;
     _idx=idx;
@@ -21,7 +21,7 @@ import static com.cliffc.aa.AA.*;
 public abstract class PrimNode extends Node {
   public final String _name;    // Unique name (and program bits)
   final TypeFunSig _sig;        // Argument types; ctrl, mem, disp, normal args, plus return
-  Parse[] _badargs;             // Filled in when inlined in CallNode
+  long[] _badargs;              // Filled in when inlined in CallNode
   byte _op_prec;                // Operator precedence, computed from table.  Generally 1-9.
   public boolean _thunk_rhs;    // Thunk (delay) right-hand-argument.
   PrimNode( String name, TypeStruct formals, Type ret ) {
@@ -139,7 +139,7 @@ public abstract class PrimNode extends Node {
   }
 
 
-  public static PrimNode convertTypeName( Type from, Type to, Parse badargs ) {
+  public static PrimNode convertTypeName( Type from, Type to, long badargs ) {
     return new ConvertTypeName(from,to,badargs);
   }
 
@@ -201,13 +201,13 @@ public abstract class PrimNode extends Node {
     try(GVNGCM.Build<FunPtrNode> X = gvn.new Build<>()) {
       assert _defs._len==0 && _uses._len==0;
       FunNode fun = (FunNode) X.xform(new FunNode(this).add_def(Env.ALL_CTRL)); // Points to ScopeNode only
-      Node rpc = X.xform(new ParmNode(0,"rpc",fun,Env.ALL_CALL,null));
+      Node rpc = X.xform(new ParmNode(0,"rpc",fun,Env.ALL_CALL,0));
       add_def(_thunk_rhs ? fun : null);   // Control for the primitive in slot 0
-      Node mem = X.xform(new ParmNode(MEM_IDX," mem",fun,TypeMem.MEM,Env.DEFMEM,null));
+      Node mem = X.xform(new ParmNode(MEM_IDX," mem",fun,TypeMem.MEM,Env.DEFMEM,0));
       if( _thunk_rhs ) add_def(mem);      // Memory if thunking
       while( len() < _sig.nargs() ) add_def(null);
       for( TypeFld fld : _sig._formals.flds() )
-        set_def(fld._order,X.xform(new ParmNode(fld._order,fld._fld,fun, Env.ALL,null)));
+        set_def(fld._order,X.xform(new ParmNode(fld._order,fld._fld,fun, Env.ALL,0)));
       Node that = X.xform(this);
       Node ctl,rez;
       if( _thunk_rhs ) {
@@ -233,9 +233,9 @@ public abstract class PrimNode extends Node {
   // --------------------
   // Default name constructor using a single tuple type
   static class ConvertTypeName extends PrimNode {
-    ConvertTypeName(Type from, Type to, Parse badargs) {
+    ConvertTypeName(Type from, Type to, long badargs) {
       super(to._name,TypeStruct.args(from),to);
-      _badargs = new Parse[]{badargs};
+      _badargs = new long[]{badargs};
     }
     @Override public Type value(GVNGCM.Mode opt_mode) {
       Type[] ts = Types.get(_defs._len);
@@ -554,8 +554,8 @@ public abstract class PrimNode extends Node {
         Node rez = X.xform(new  ProjNode(cep,AA.REZ_IDX));
         // Region merging results
         Node reg = X.xform(new RegionNode(null,fal,ccc));
-        Node phi = X.xform(new PhiNode(Type.SCALAR,null,reg,Node.con(Type.XNIL),rez ));
-        Node phim= X.xform(new PhiNode(TypeMem.MEM,null,reg,mem,memc ));
+        Node phi = X.xform(new PhiNode(Type.SCALAR,0,reg,Node.con(Type.XNIL),rez ));
+        Node phim= X.xform(new PhiNode(TypeMem.MEM,0,reg,mem,memc ));
         // Plug into self & trigger is_copy
         set_def(0,reg );
         set_def(1,phim);
@@ -610,8 +610,8 @@ public abstract class PrimNode extends Node {
         Node rez = X.xform(new  ProjNode(cep,AA.REZ_IDX));
         // Region merging results
         Node reg = X.xform(new RegionNode(null,tru,ccc));
-        Node phi = X.xform(new PhiNode(Type.SCALAR,null,reg,lhs,rez ));
-        Node phim= X.xform(new PhiNode(TypeMem.MEM,null,reg,mem,memc ));
+        Node phi = X.xform(new PhiNode(Type.SCALAR,0,reg,lhs,rez ));
+        Node phim= X.xform(new PhiNode(TypeMem.MEM,0,reg,mem,memc ));
         // Plug into self & trigger is_copy
         set_def(0,reg );
         set_def(1,phim);
@@ -51,6 +51,13 @@ public class ProjNode extends Node {
     throw unimpl();
   }
 
+  // Lost a use; an allocation might no longer escape.  NewNode.captured reads
+  // the uses of its pointer projection, and nothing else revisits the NewNode
+  // when e.g. the last escaping Load goes dead.
+  @Override public void add_work_def_extra(Work work, Node chg) {
+    if( in(0) instanceof NewNode ) Env.GVN.add_reduce(in(0));
+  }
+
   public static ProjNode proj( Node head, int idx ) {
     for( Node use : head._uses )
       if( use instanceof ProjNode && ((ProjNode)use)._idx==idx )
@@ -0,0 +1,212 @@
+package com.cliffc.aa.node;
+
+import com.cliffc.aa.Combo;
+import com.cliffc.aa.util.Ary;
+import com.cliffc.aa.util.AryInt;
+
+import static com.cliffc.aa.node.Node.*;
+
+// Combo worklist ordered by the discovered call graph.  Every Node is homed
+// in the function whose body it sits in (fidx 0 for top-level code).  The
+// call graph is the CallEpiNode wiring discovered so far; its strongly
+// connected components are numbered bottom-up (callees before callers) and
+// work is always pulled from the lowest numbered SCC with pending work.  A
+// recursive cluster runs to a local fixed point before its callers see its
+// results, instead of ping-ponging flow across the whole program.  Nodes with
+// no known home (made during Combo) fall back to the top-level bucket, which
+// is always last and acts as the global worklist.
+//
+// Each pending node also records which analyses (forwards flow, liveness,
+// HM unification) it was pushed for, so applying a popped node re-runs only
+// those.  One queue keeps the SCC interleaving of all three.
+public class SCCWork extends Work {
+  private final AryInt _home  = new AryInt(); // Node uid -> fidx+1 of home function, 0 if unknown
+  private final AryInt _nwire = new AryInt(); // CallEpi uid -> nwired at last SCC computation
+  private final Ary<CallEpiNode> _cepis = new Ary<>(new CallEpiNode[1],0);
+  @SuppressWarnings("unchecked")
+  private final Ary<Ary<Node>> _buckets = new Ary<>(new Ary[1],0); // Per-SCC work, indexed by SCC rank
+  private final AryInt _bkt  = new AryInt(); // Node uid -> bucket, while on the worklist
+  private final AryInt _slot = new AryInt(); // Node uid -> index in its bucket
+  private int[] _rank = new int[1]; // fidx -> SCC rank
+  private int _cur;                 // Lowest rank with possible work
+  private int _len;                 // Total work
+  private final AryInt _pend = new AryInt(); // Node uid -> analyses pending
+  private Node _popn;               // Last popped node
+  private int _popped;              // Analyses pending on the last pop
+  private boolean _dirty;           // Call graph changed, recompute SCCs
+  public int _sccs, _recomputes;    // Stats
+  public int _pops_flow, _pops_live, _pops_hm; // Per-analysis runs
+
+  public SCCWork(String name) { super(name,false); }
+
+  // Run the analyses the just-popped n was pushed for.  Neighbors were pushed
+  // for the analyses their inputs feed; changes to n itself feed forwards.
+  // Returns n if its value or liveness changed.
+  @Override public Node apply(Node n) {
+    assert n==_popn;
+    int pend = _popped;
+    Node progress = null;
+    // Forwards flow.  A new value can change both liveness and HM.
+    if( (pend&FLOW)!=0 ) {
+      _pops_flow++;
+      if( n.combo_forwards(this) ) { pend = ALL; progress = n; }
+    }
+    // Backwards flow.  Dead code does not unify.
+    if( (pend&LIVE)!=0 ) {
+      _pops_live++;
+      if( n.combo_backwards(this) ) { pend |= HM; progress = n; }
+    }
+    // H-M unification
+    if( Combo.DO_HM && (pend&HM)!=0 ) {
+      _pops_hm++;
+      n.combo_unify(this);
+    }
+    return progress;
+  }
+
+  // Home every node reached forwards from a function head, stopping at other
+  // functions and wired call exits.  Remaining nodes are top-level.
+  public void init() {
+    Ary<Node> work = new Ary<>(new Node[1],0);
+    for( FunNode fun : FunNode.FUNS ) {
+      if( fun==null || fun.is_dead() ) continue;
+      work.push(fun);
+      while( !work.isEmpty() ) {
+        Node n = work.pop();
+        if( n==null || _home.atX(n._uid)!=0 ) continue; // Visited, or homed elsewhere
+        int op = n._op;
+        if( op == OP_FUN && n != fun ) continue; // Other function
+        if( op == OP_PARM && n.in(0) != fun ) continue;
+        if( op == OP_DEFMEM ) continue;
+        _home.setX(n._uid,fun._fidx+1);
+        if( op == OP_RET ) continue;             // End of this function
+        if( n instanceof CallEpiNode ) _cepis.push((CallEpiNode)n);
+        if( n instanceof ProjNode && n.in(0) instanceof CallNode ) continue;
+        work.addAll(n._uses);
+      }
+    }
+    _dirty = true;
+  }
+
+  private int home( Node n ) {
+    int h = _home.atX(n._uid);
+    if( h==0 && !n.is_dead() && n._defs._len>0 && n.in(0)!=null ) h = _home.atX(n.in(0)._uid); // New nodes inherit from control
+    return h==0 ? 0 : h-1;
+  }
+  private int rank( Node n ) {
+    int fidx = home(n);
+    return fidx < _rank.length ? _rank[fidx] : _rank[0];
+  }
+
+  @Override public <N extends Node> N add(N n) { return add(n,ALL); }
+  @Override public <N extends Node> N add(N n, int analyses) {
+    if( n==null ) return null;
+    if( n instanceof CallEpiNode && ((CallEpiNode)n).nwired() != _nwire.atX(n._uid) ) _dirty = true; // Newly wired
+    _pend.setX(n._uid,_pend.atX(n._uid)|analyses);
+    if( _on.tset(n._uid) ) return n;
+    push(_dirty ? 0 : rank(n),n);
+    _len++;
+    return n;
+  }
+  private void push( int r, Node n ) {
+    while( _buckets._len <= r ) _buckets.push(new Ary<>(new Node[1],0));
+    Ary<Node> b = _buckets.at(r);
+    _bkt .setX(n._uid,r);
+    _slot.setX(n._uid,b._len);
+    b.push(n);
+    if( r < _cur ) _cur = r;
+  }
+
+  @Override public Node pop() {
+    if( _len==0 ) return null;
+    if( _dirty ) recompute();
+    while( _buckets.at(_cur)._len==0 ) _cur++;
+    Node n = _buckets.at(_cur).pop();
+    _on.clear(n._uid);
+    _popn = n;  _popped = _pend.at(n._uid);  _pend.set(n._uid,0);
+    _len--;
+    return n;
+  }
+
+  @Override public int len() { return _len; }
+  @Override public boolean isEmpty() { return _len==0; }
+  // Pending work by position, bucket by bucket.  Within a bucket this is not
+  // pop order, and positions shift as work is added or removed.
+  @Override public Node at(int i) {
+    for( Ary<Node> b : _buckets ) {
+      if( i < b._len ) return b.at(i);
+      i -= b._len;
+    }
+    throw new ArrayIndexOutOfBoundsException(i);
+  }
+  @Override public void del(int i) { del(at(i)); }
+  @Override public void del(Node n) {
+    if( !_on.get(n._uid) ) return;
+    _on.clear(n._uid);
+    _pend.setX(n._uid,0);
+    Ary<Node> b = _buckets.at(_bkt.at(n._uid));
+    int i = _slot.at(n._uid);
+    b.del(i);                   // Last element moves into the hole
+    if( i < b._len ) _slot.set(b.at(i)._uid,i);
+    _len--;
+  }
+  @Override public void clear() { for( Ary<Node> b : _buckets ) b.clear(); _on.clear(); _pend.clear(); _len=_cur=0; }
+
+  // Tarjan's SCC over the wired call graph.  SCCs are emitted callees-first,
+  // which is exactly the desired rank order.  Pending work is re-bucketed.
+  private void recompute() {
+    _dirty = false;
+    _recomputes++;
+    int nf = FunNode.FUNS._len;
+    // Call graph as adjacency lists, caller fidx -> callee fidxs
+    AryInt[] calls = new AryInt[nf];
+    for( CallEpiNode cepi : _cepis ) {
+      if( cepi.is_dead() ) continue;
+      _nwire.setX(cepi._uid,cepi.nwired());
+      int caller = home(cepi);
+      for( int i=0; i<cepi.nwired(); i++ ) {
+        FunNode fun = cepi.wired(i).fun();
+        if( fun==null || fun._fidx >= nf ) continue;
+        if( calls[caller]==null ) calls[caller] = new AryInt();
+        calls[caller].push(fun._fidx);
+      }
+    }
+    // Iterative Tarjan
+    _rank = new int[nf];
+    int[] idx = new int[nf], low = new int[nf], edge = new int[nf];
+    boolean[] onstk = new boolean[nf];
+    AryInt stk = new AryInt(), call = new AryInt();
+    int cnt=0, scc=0;
+    for( int root=nf-1; root>=0; root-- ) { // Top-level fidx 0 last, so it ranks last
+      if( idx[root]!=0 ) continue;
+      call.push(root);
+      idx[root]=low[root]=++cnt; stk.push(root); onstk[root]=true; edge[root]=0;
+      while( !call.isEmpty() ) {
+        int f = call.last();
+        AryInt cs = calls[f];
+        if( cs!=null && edge[f] < cs._len ) {
+          int g = cs.at(edge[f]++);
+          if( idx[g]==0 ) {     // Recurse
+            idx[g]=low[g]=++cnt; stk.push(g); onstk[g]=true; edge[g]=0;
+            call.push(g);
+          } else if( onstk[g] ) low[f] = Math.min(low[f],idx[g]);
+          continue;
+        }
+        call.pop();             // Done with f
+        if( !call.isEmpty() ) { int p = call.last(); low[p] = Math.min(low[p],low[f]); }
+        if( low[f]==idx[f] ) {  // Root of an SCC
+          int g;
+          do { g = stk.pop(); onstk[g]=false; _rank[g]=scc; } while( g!=f );
+          scc++;
+        }
+      }
+    }
+    _sccs = scc;
+    // Re-bucket pending work under the new ranks
+    Ary<Node> all = new Ary<>(new Node[1],0);
+    for( Ary<Node> b : _buckets ) { all.addAll(b); b.clear(); }
+    while( _buckets._len < scc ) _buckets.push(new Ary<>(new Node[1],0));
+    _cur = scc;
+    for( Node n : all ) push(rank(n),n);
+  }
+}
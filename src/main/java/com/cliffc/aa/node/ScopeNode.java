@@ -2,7 +2,6 @@ package com.cliffc.aa.node;
 
 import com.cliffc.aa.Env;
 import com.cliffc.aa.GVNGCM;
-import com.cliffc.aa.Parse;
 import com.cliffc.aa.type.*;
 import com.cliffc.aa.util.Ary;
 
@@ -22,7 +21,7 @@ public class ScopeNode extends Node {
   private final HashMap<String,ConTypeNode> _types; // user-typing type names
   private Ary<IfScope> _ifs;                 // Nested set of IF-exprs used to track balanced new-refs
 
-  public ScopeNode(Parse open, boolean closure) {
+  public ScopeNode(long open, boolean closure) {
     super(OP_SCOPE,null,null,null,null);
     if( closure ) { add_def(null); add_def(null); add_def(null); } // Wire up an early-function-exit path
     _types = new HashMap<>();
@@ -238,7 +237,7 @@ public class ScopeNode extends Node {
     _ifs.last().def(name,mutable,create);      // Var defined in arm of if
   }
 
-  public Node check_if( boolean arm, Parse bad, GVNGCM gvn, Node ctrl, Node mem ) { return _ifs.last().check(this,arm,bad,gvn,ctrl,mem); }
+  public Node check_if( boolean arm, long bad, GVNGCM gvn, Node ctrl, Node mem ) { return _ifs.last().check(this,arm,bad,gvn,ctrl,mem); }
 
   private static class IfScope {
     HashMap<String,Access> _tvars, _fvars;
@@ -258,7 +257,7 @@ public class ScopeNode extends Node {
       }
     }
     // Check for balanced creation, and insert errors on unbalanced
-    Node check(ScopeNode scope, boolean arm, Parse bad, GVNGCM gvn, Node ctrl, Node mem) {
+    Node check(ScopeNode scope, boolean arm, long bad, GVNGCM gvn, Node ctrl, Node mem) {
       if( _tvars == null ) return mem; // No new vars on either arm
       // Pull from both variable sets names that are common to both
       if( arm ) {               // Only do it first time
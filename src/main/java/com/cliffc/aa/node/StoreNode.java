@@ -2,10 +2,9 @@ package com.cliffc.aa.node;
 
 import com.cliffc.aa.Env;
 import com.cliffc.aa.GVNGCM;
-import com.cliffc.aa.Parse;
 import com.cliffc.aa.tvar.TV2;
 import com.cliffc.aa.type.*;
-import com.cliffc.aa.util.NonBlockingHashMap;
+import com.cliffc.aa.util.SmallMap;
 import com.cliffc.aa.util.Util;
 
 import static com.cliffc.aa.type.TypeFld.Access;
@@ -15,12 +14,12 @@ import static com.cliffc.aa.type.TypeFld.Access;
 public class StoreNode extends Node {
   final String _fld;        // Field being updated
   private final Access _fin; // TypeFld.Access.Final or TypeFld.Access.RW
-  private final Parse _bad;
-  public StoreNode( Node mem, Node adr, Node val, Access fin, String fld, Parse bad ) {
+  private final long _bad;
+  public StoreNode( Node mem, Node adr, Node val, Access fin, String fld, long bad ) {
     super(OP_STORE,null,mem,adr,val);
     _fld = fld;
     _fin = fin;
-    _bad = bad;    // Tests can pass a null, but nobody else does
+    _bad = bad;    // Tests can pass a 0, but nobody else does
   }
   private StoreNode( StoreNode st, Node mem, Node adr ) { this(mem,adr,st.rez(),st._fin,st._fld,st._bad); }
 
@@ -43,6 +42,8 @@ public class StoreNode extends Node {
     if( mem==this ) return null;
     if( ta.above_center() ) return mem;
     if( tmp!=null && _live.ld(tmp)==TypeObj.UNUSED )  return mem;
+    // Storing into a scalar-replaced (killed) allocation
+    if( tmp!=null && tmp._obj==TypeObj.UNUSED && adr.in(0) instanceof NewNode ) return mem;
 
     // If Store is by a New and no other Stores, fold into the New.
     NewObjNode nnn;  TypeFld tfld;
@@ -153,6 +154,7 @@ public class StoreNode extends Node {
     TypeObj objs = tmem instanceof TypeMem
       ? ((TypeMem)tmem).ld(ptr) // General load from memory
       : ((TypeObj)tmem);
+    if( objs==TypeObj.UNUSED ) return null; // No error, since might fall to anything
     if( !(objs instanceof TypeStruct) ) return bad("No such",fast,objs);
     TypeStruct ts = (TypeStruct)objs;
     TypeFld fld = ts.fld_find(_fld);
@@ -194,7 +196,7 @@ public class StoreNode extends Node {
 
     if( ptr.is_leaf() ) {
       if( tptr instanceof TypeMemPtr && tptr.must_nil() ) work.add(st); // If nil, will be a nil-access error
-      NonBlockingHashMap<String,TV2> args = new NonBlockingHashMap<String,TV2>(){{ put(fld,val.tvar()); }};
+      SmallMap<TV2> args = new SmallMap<>(fld,val.tvar());
       return ptr.unify(TV2.make_open_struct(name,st,tptr,"Store_update",args),work);
     }
 
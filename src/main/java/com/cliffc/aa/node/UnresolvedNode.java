@@ -11,8 +11,8 @@ import java.util.Arrays;
 import static com.cliffc.aa.AA.ARG_IDX;
 
 public class UnresolvedNode extends UnOrFunPtrNode {
-  private final Parse _bad;
-  UnresolvedNode( Parse bad, Node... funs ) { super(OP_UNR,funs); _bad = bad; }
+  private final long _bad;
+  UnresolvedNode( long bad, Node... funs ) { super(OP_UNR,funs); _bad = bad; }
   @Override public String xstr() {
     if( is_dead() ) return "DEAD";
     if( in(0) instanceof FunPtrNode ) {
@@ -129,13 +129,13 @@ public class UnresolvedNode extends UnOrFunPtrNode {
   // Return the op_prec of the returned value.  Not sensible except when called
   // on primitives.  Should be the same across all defs.
   @Override public byte op_prec() { return _defs.at(0).op_prec(); }
-  @Override public int hashCode() { return super.hashCode()+(_bad==null ? 0 : _bad.hashCode()); }
+  @Override public int hashCode() { return super.hashCode()+Long.hashCode(_bad); }
   @Override public boolean equals(Object o) {
     if( !super.equals(o) ) return false;
     return _bad==((UnresolvedNode)o)._bad;
   }
   // Make a copy with an error message
-  public UnresolvedNode copy(Parse bad) {
+  public UnresolvedNode copy(long bad) {
     return new UnresolvedNode(bad,Arrays.copyOf(_defs._es,_defs._len));
   }
 
@@ -2,7 +2,7 @@ package com.cliffc.aa.node;
 
 import com.cliffc.aa.util.Ary;
 import com.cliffc.aa.util.VBitSet;
-import com.cliffc.aa.tvar.UQNodes;
+import com.cliffc.aa.tvar.DepNodes;
 
 import java.util.function.Function;
 
@@ -10,6 +10,8 @@ public abstract class Work implements Function<Node,Node> {
   public final Ary<Node> _work = new Ary<>(new Node[1],0);
   final VBitSet _on = new VBitSet();
   public final String _name;
+  // Analyses a node is pushed for; only the Combo worklist tracks them
+  public static final int FLOW=1, LIVE=2, HM=4, ALL=FLOW|LIVE|HM;
   public final boolean _replacing;
   public Work(String name, boolean replacing) { _name=name; _replacing = replacing; }
   public int len() { return _work._len; }
@@ -17,7 +19,9 @@ public abstract class Work implements Function<Node,Node> {
     if( n!=null && !_on.tset(n._uid) ) _work.push(n);
     return n;
   }
-  public void add(UQNodes uq) {  if( uq!=null ) for( Node n : uq.values() )  add(n); }
+  // Type-var deps revisit values and unification, not liveness
+  public void add(DepNodes deps) { if( deps!=null ) for( Node n : deps ) add(n,FLOW|HM); }
+  public <N extends Node> N add(N n, int analyses) { return add(n); }
   public abstract Node apply(Node n);
 
   public Node pop() {
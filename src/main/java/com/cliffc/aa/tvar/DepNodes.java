@@ -0,0 +1,114 @@
+package com.cliffc.aa.tvar;
+
+import com.cliffc.aa.node.Node;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+// Set of dependent Nodes for a TV2, re-worklisted when the TV2 changes.
+// Single-threaded, insertion-ordered, O(1) amortized add.  Small sets probe
+// linearly; larger sets keep an open-addressed table of node uids.  Sets are
+// shared copy-on-write: share() marks a set as having several owners, and
+// the next add() through any owner copies first.  Dead nodes are pruned
+// lazily, whenever the set grows.
+public class DepNodes implements Iterable<Node> {
+  private static final int SMALL=8;   // Linear probe at or below this size
+  public static int ALLOCS, COPIES;   // Stats
+  private Node[] _es;
+  private int _len;
+  private int[] _hash;                // Open-addressed by uid, holding index+1 into _es; null when small
+  private boolean _shared;
+
+  private DepNodes( int cap ) { _es = new Node[cap]; ALLOCS++; }
+  public static DepNodes make( Node n ) { DepNodes d = new DepNodes(2); d._es[d._len++]=n; return d; }
+
+  public int size() { return _len; }
+  public DepNodes share() { _shared = true; return this; }
+
+  public boolean contains( Node n ) {
+    if( _hash==null ) {
+      for( int i=0; i<_len; i++ ) if( _es[i]==n ) return true;
+      return false;
+    }
+    int mask = _hash.length-1;
+    for( int i=n._uid&mask; _hash[i]!=0; i=(i+1)&mask )
+      if( _es[_hash[i]-1]==n ) return true;
+    return false;
+  }
+
+  // Add a node, returning the set now holding it: 'this' unless 'this' was
+  // shared, in which case a private copy.
+  public DepNodes add( Node n ) {
+    if( contains(n) ) return this;
+    DepNodes d = _shared ? copy() : this;
+    if( d._len==d._es.length ) d.grow();
+    d._es[d._len++] = n;
+    if( d._hash!=null ) d.hash_put(d._len-1);
+    return d;
+  }
+
+  // Add all of 'deps', copying at most once
+  public DepNodes addAll( DepNodes deps ) {
+    DepNodes d = this;
+    if( deps!=null && deps!=this )
+      for( int i=0; i<deps._len; i++ )
+        if( !deps._es[i].is_dead() )
+          d = d.add(deps._es[i]);
+    return d;
+  }
+  // True if every live node in 'deps' is already here
+  public boolean containsAll( DepNodes deps ) {
+    if( deps==this ) return true;
+    for( int i=0; i<deps._len; i++ )
+      if( !deps._es[i].is_dead() && !contains(deps._es[i]) )
+        return false;
+    return true;
+  }
+
+  private DepNodes copy() {
+    COPIES++;
+    DepNodes d = new DepNodes(Math.max(2,_len+(_len>>1)));
+    System.arraycopy(_es,0,d._es,0,_len);
+    d._len = _len;
+    if( _hash!=null ) d._hash = _hash.clone();
+    return d;
+  }
+
+  // Out of room: drop dead nodes, and double if still mostly full
+  private void grow() {
+    int j=0;
+    for( int i=0; i<_len; i++ )
+      if( !_es[i].is_dead() )
+        _es[j++] = _es[i];
+    Arrays.fill(_es,j,_len,null);
+    _len = j;
+    if( _len > (_es.length>>1) ) _es = Arrays.copyOf(_es,_es.length<<1);
+    // Rebuild the uid table
+    if( _es.length <= SMALL ) { _hash=null; return; }
+    _hash = new int[Integer.highestOneBit(_es.length)<<2];
+    for( int i=0; i<_len; i++ ) hash_put(i);
+  }
+  private void hash_put( int idx ) {
+    int mask = _hash.length-1;
+    int i=_es[idx]._uid&mask;
+    while( _hash[i]!=0 ) i=(i+1)&mask;
+    _hash[i]=idx+1;
+  }
+
+  @Override public Iterator<Node> iterator() { return new Iter(); }
+  private class Iter implements Iterator<Node> {
+    int _i=0;
+    @Override public boolean hasNext() {
+      while( _i<_len && _es[_i].is_dead() ) _i++;
+      return _i<_len;
+    }
+    @Override public Node next() { return _es[_i++]; }
+  }
+
+  @Override public String toString() {
+    StringBuilder sb = new StringBuilder("{");
+    for( Node n : this ) sb.append(n._uid).append(',');
+    if( sb.length()>1 ) sb.setLength(sb.length()-1);
+    return sb.append('}').toString();
+  }
+}
@@ -32,7 +32,7 @@ public class TV2 {
   // - "Free": Nothing points to it, can be re-used.
   private String _name;
   // Set of structural H-M parts.  Can be null if empty.
-  NonBlockingHashMap<String,TV2> _args;
+  SmallMap<TV2> _args;
   private boolean _open;        // Can be extended
 
   // U-F algo.  Only set when unified, monotonic null->unification_target.
@@ -43,18 +43,31 @@ public class TV2 {
   public Type _type;
 
   // Set of dependent CallEpiNodes, to be re-worklisted if the called function changes TV2.
-  private UQNodes _deps;
+  private DepNodes _deps;
+
+  // Binding level, Remy-style.  The outermost lexical scope whose nongen set
+  // this TV2 occurs in, or null if in none (fully generic).  Only ever moves
+  // outwards: on binding a var, on union, and on adding structure under a
+  // bound TV2.  Makes the 'occurs-in-nongen' check an interval compare.
+  private Env.VStack _vs;
+  // Level is only an upper bound: bound in unrelated (e.g. sibling) scopes,
+  // or lost a path from a bound TV2.  The occurs check then walks the scopes.
+  private boolean _vx;
 
   // Debug only.  Set of unioned Nodes.  null for empty.  Helpful to track where TV2s come from.
   private UQNodes _ns;     //
   private @NotNull final String _alloc_site; // Creation site; used to track excessive creation.
+  // Call-result lift scratch, valid only while stamped with the current epoch
+  private int _lmark, _vmark;   // Lift and visit epoch stamps
+  private Type _ltype, _vtype;  // Met input flow type; first flow type visited
 
   // Track allocation statistics
   static private class ACnts { int _malloc, _unified, _free; }
   static private final HashMap<String,ACnts> ALLOCS = new HashMap<>(); // Counts at alloc sites
+  public static int allocs() { int sum=0; for( ACnts ac : ALLOCS.values() ) sum += ac._malloc; return sum; }
 
   // Common constructor
-  private TV2(@NotNull String name, NonBlockingHashMap<String,TV2> args, Type type, UQNodes ns, @NotNull String alloc_site) {
+  private TV2(@NotNull String name, SmallMap<TV2> args, Type type, UQNodes ns, @NotNull String alloc_site) {
     _uid = UID++;
     _name = name;
     _args = args;
@@ -101,6 +114,7 @@ public class TV2 {
   public TV2 args_put(String key, TV2 tv) {
     _args.put(key,tv);          // Pick up a key->tv mapping
     merge_deps(tv);             // tv gets all deps that 'this' has
+    if( _vs!=null ) tv.set_nongen(_vs);
     return tv;
   }
 
@@ -124,7 +138,7 @@ public class TV2 {
     return _open;
   }
 
-  public Set<String> args() { return _args.keySet(); }
+  public Iterable<String> args() { return _args.keySet(); }
   public int len() { return _args==null ? 0 : _args.size(); }
 
   // --------------------------------------------
@@ -146,14 +160,14 @@ public class TV2 {
   }
   // Make a new Nil
   public static TV2 make_nil(Node n, Type type, TV2 leaf, @NotNull String alloc_site) {
-    NonBlockingHashMap<String,TV2> args = new NonBlockingHashMap<String,TV2>(){{ put("?",leaf); }};
+    SmallMap<TV2> args = new SmallMap<>("?",leaf);
     return new TV2("Nil",args,type,UQNodes.make(n),alloc_site);
   }
   // Make a new function
   public static TV2 make_fun(RetNode ret, TypeFunPtr fptr, TypeFunSig sig, @NotNull String alloc_site) {
     assert fptr._disp==TypeMemPtr.NO_DISP; // Just for fidxs, arg counts
     assert fptr._nargs==sig.nargs();
-    NonBlockingHashMap<String,TV2> args = new NonBlockingHashMap<String,TV2>();
+    SmallMap<TV2> args = new SmallMap<>();
     UQNodes ns = UQNodes.make(ret.rez());
     args.put(" ret",ret.rez().tvar()); // Return from the return result tvar
     Node[] parms = ret.fun().parms();
@@ -163,7 +177,7 @@ public class TV2 {
     }
     return new TV2("->",args,fptr,ns,alloc_site);
   }
-  public static TV2 make_fun(Node n, Type fptr, NonBlockingHashMap<String,TV2> args, @NotNull String alloc_site) {
+  public static TV2 make_fun(Node n, Type fptr, SmallMap<TV2> args, @NotNull String alloc_site) {
     return new TV2("->",args,fptr,UQNodes.make(n),alloc_site);
   }
 
@@ -179,16 +193,16 @@ public class TV2 {
   }
 
   // Structural constructor, empty
-  public static TV2 make(@NotNull String name, Node n, @NotNull String alloc_site ) { return make(name,n,alloc_site,new NonBlockingHashMap<>()); }
+  public static TV2 make(@NotNull String name, Node n, @NotNull String alloc_site ) { return make(name,n,alloc_site,new SmallMap<>()); }
   // Structural constructor
-  public static TV2 make(@NotNull String name, Node n, @NotNull String alloc_site, NonBlockingHashMap<String,TV2> args) {
+  public static TV2 make(@NotNull String name, Node n, @NotNull String alloc_site, SmallMap<TV2> args) {
     assert args!=null;          // Must have some structure
     TV2 tv2 = new TV2(name,args,null,UQNodes.make(n),alloc_site);
     assert !tv2.is_base() && !tv2.is_leaf();
     return tv2;
   }
   // Structural constructor with address
-  public static TV2 make(@NotNull String name, Node n, Type t, @NotNull String alloc_site, NonBlockingHashMap<String,TV2> args) {
+  public static TV2 make(@NotNull String name, Node n, Type t, @NotNull String alloc_site, SmallMap<TV2> args) {
     assert args!=null;          // Must have some structure
     TV2 tv2 = new TV2(name,args,t,UQNodes.make(n),alloc_site);
     assert !tv2.is_base() && !tv2.is_leaf();
@@ -197,7 +211,7 @@ public class TV2 {
   // Structural constructor from array of TVs
   public static TV2 make(@NotNull String name, Node n, @NotNull String alloc_site, Node... ntvs) {
     assert ntvs!=null;          // Must have some structure
-    NonBlockingHashMap<String,TV2> args = new NonBlockingHashMap<>();
+    SmallMap<TV2> args = new SmallMap<>();
     for( int i=0; i<ntvs.length; i++ )
       if( ntvs[i]!=null && ntvs[i].has_tvar() )
         args.put(""+i,ntvs[i].tvar());
@@ -205,25 +219,25 @@ public class TV2 {
   }
 
   public static TV2 make(@NotNull String name, UQNodes ns, @NotNull String alloc_site ) {
-    TV2 tv2 = new TV2(name, new NonBlockingHashMap<>(),null,ns,alloc_site);
+    TV2 tv2 = new TV2(name, new SmallMap<>(),null,ns,alloc_site);
     assert !tv2.is_base() && !tv2.is_leaf();
     return tv2;
   }
 
   // A new struct from a NewObj
   public static TV2 make_struct(NewObjNode n, @NotNull String alloc_site) {
-    TV2 tv2 = new TV2("@{}",new NonBlockingHashMap<>(),null,UQNodes.make(n),alloc_site);
+    TV2 tv2 = new TV2("@{}",new SmallMap<>(),null,UQNodes.make(n),alloc_site);
     tv2._open = true;           // Start out open
     return tv2;
   }
-  public static TV2 make_open_struct(@NotNull String name, Node n, Type t, @NotNull String alloc_site, NonBlockingHashMap<String,TV2> args) {
+  public static TV2 make_open_struct(@NotNull String name, Node n, Type t, @NotNull String alloc_site, SmallMap<TV2> args) {
     TV2 tv2 = new TV2(name,args,t,UQNodes.make(n),alloc_site);
     tv2._open = true;           // Start out open
     return tv2;
   }
   // Structural constructor from an array of nodes and keys from a TypeStruct
   public static TV2 make_struct(NewObjNode n, @NotNull String alloc_site, TypeStruct ts, Ary<Node> ntvs) {
-    NonBlockingHashMap<String,TV2> args = new NonBlockingHashMap<>();
+    SmallMap<TV2> args = new SmallMap<>();
     for( int i=0; i<ntvs._len; i++ )
       if( ntvs.at(i)!=null )
         args.put(ts.fld_idx(i)._fld,ntvs.at(i).tvar());
@@ -234,14 +248,15 @@ public class TV2 {
   }
 
   TV2 copy(String alloc_site) {
-    TV2 t = new TV2(_name,_args==null ? null : new NonBlockingHashMap<>(),_type,_ns,alloc_site);
-    t._deps = _deps;
+    TV2 t = new TV2(_name,_args==null ? null : new SmallMap<>(),_type,_ns,alloc_site);
+    t._deps = _deps==null ? null : _deps.share();
     t._open = _open;
     return t;
   }
 
   public static void reset_to_init0() {
     UID=1;
+    VARS.clear(); DUPS.clear(); CDUPS.clear(); VDUPS.clear(); // Left behind by a failed compile
   }
   public void reset(Node n) { if( _ns!=null ) _ns.remove(n._uid); }
 
@@ -252,6 +267,8 @@ public class TV2 {
     _type = null;
     _deps = null;
     _ns   = null;
+    _vs   = null;
+    _vx   = false;
   }
 
   // --------------------------------------------
@@ -298,7 +315,7 @@ public class TV2 {
       // Nested nilable-and-not-leaf, need to fixup the nilable.
       // "this" becomes a shallow copy of the leaf 'n' with XNIL.
       _type = n._type.meet_nil(Type.XNIL);
-      _args = n._args==null ? null : (NonBlockingHashMap<String,TV2>)n._args.clone();  // Shallow copy the TV2 fields
+      _args = n._args==null ? null : n._args.clone();  // Shallow copy the TV2 fields
       _open = n._open;
       _name = n._name;
       break;
@@ -309,6 +326,8 @@ public class TV2 {
 
     n.merge_deps(this);         // Copy n._deps into _deps
     n.merge_ns  (this);
+    if( _vs!=null ) n.lost_nongen();
+    push_nongen();              // Shallow copied fields are bound here also
     return this;
   }
 
@@ -340,14 +359,18 @@ public class TV2 {
     _unified=that;
     assert is_unified();
     ALLOCS.get(_alloc_site)._unified++;
-    merge_deps(that);           // Merge update lists, for future unions
+    if( that._deps==null && that._args==null ) that._deps = _deps; // Hand over, 'this' is dying
+    else merge_deps(that);      // Merge update lists, for future unions
     merge_ns  (that);           // Merge Node list, for easier debugging
+    if( _vs!=null ) that.set_nongen(_vs,_vx); // Adjust levels: that is bound wherever this was
     _name = "X"+_uid;
     _args = null;               // Clean out extra state from 'this'
     _open = false;
     _type = null;
     _deps = null;
     _ns   = null;
+    _vs   = null;
+    _vx   = false;
     return true;
   }
 
@@ -366,7 +389,7 @@ public class TV2 {
         that.is_struct() ||
         that.isa("Str") ) {
       copy._type = copy._type.join(Type.NSCALR);
-      copy._args = that._args==null ? null : (NonBlockingHashMap<String, TV2>)that._args.clone();
+      copy._args = that._args==null ? null : that._args.clone();
     } else
       throw unimpl();
     return leaf._union(copy) | that._union(find());
@@ -374,7 +397,7 @@ public class TV2 {
 
   // --------------------------------------------
   // Cyclic (structural) equals
-  static private final HashMap<TV2,TV2> CDUPS = new HashMap<>();
+  static private final IdentMap<TV2,TV2> CDUPS = new IdentMap<>();
   public final boolean eq( TV2 that ) {
     assert CDUPS.isEmpty();
     boolean eq = _eq(that);
@@ -407,7 +430,7 @@ public class TV2 {
   // --------------------------------------------
   // Used in the recursive unification process.  During unify detects cycles,
   // to allow cyclic unification.
-  private static final NonBlockingHashMapLong<TV2> DUPS = new NonBlockingHashMapLong<>();
+  private static final LongMap<TV2> DUPS = new LongMap<>();
   private long dbl_uid(TV2 t) { return dbl_uid(t._uid); }
   private long dbl_uid(long uid) { return ((long)_uid<<32)|uid; }
 
@@ -465,7 +488,7 @@ public class TV2 {
     // Structural recursion unification, this into that.  Aligned keys unify
     // directly.  Fields in one TV2 and not in the other are put in the result
     // if the other is open, and dropped otherwise.
-    NonBlockingHashMap<String,TV2> args = _args;
+    SmallMap<TV2> args = _args;
     for( String key : args.keySet() ) {
       TV2 vthis = get(key); assert vthis!=null;
       TV2 vthat = that.get(key);
@@ -492,27 +515,29 @@ public class TV2 {
     assert is_struct();
     _args.put(id,fld);
     fld.push_deps(_deps);
+    if( _vs!=null ) fld.set_nongen(_vs);
     work.add(_deps);
     return true;
   }
   // Delete a field
   private void del_fld( String fld, Work work) {
     assert is_struct() || isa("Ary");
-    _args.remove(fld);
+    TV2 old = _args.remove(fld);
+    if( _vs!=null && old!=null ) old.find().lost_nongen();
     work.add(_deps);
   }
 
   // Used in the recursive unification process.  During fresh_unify tracks the
   // mapping from LHS TV2s to RHS TVs.
-  private static final HashMap<TV2,TV2> VARS = new HashMap<>();
+  private static final IdentMap<TV2,TV2> VARS = new IdentMap<>();
 
   // Make a (lazy) fresh copy of 'this' and unify it with 'that'.  This is
   // the same as calling 'fresh' then 'unify', without the clone of 'this'.
-  // The TV2[] is used when making the 'fresh' copy for the occurs_check.
+  // The VStack is the lexical scope of the use, for the occurs_check.
 
   // Returns progress.
   // If work==null, we are testing only and make no changes.
-  public boolean fresh_unify(TV2 that, TV2[] vs, Work work) {
+  public boolean fresh_unify(TV2 that, Env.VStack vs, Work work) {
     assert VARS.isEmpty() && DUPS.isEmpty();
     boolean progress = _fresh_unify(that,vs,work);
     VARS.clear();  DUPS.clear();
@@ -521,7 +546,7 @@ public class TV2 {
 
   // Apply 'this' structure on 'that'; no modifications to 'this'.  VARS maps
   // from the cloned LHS to the RHS replacement.
-  private boolean _fresh_unify(TV2 that, TV2[] nongen, Work work ) {
+  private boolean _fresh_unify(TV2 that, Env.VStack nongen, Work work ) {
     assert !is_unified() && !that.is_unified();
 
     // Check for cycles
@@ -604,7 +629,7 @@ public class TV2 {
       for( String id : that.args() )      // For all fields in RHS
         if( get(id)==null ) {             // Missing in LHS
           if( work == null ) return true; // Will definitely make progress
-          { that._args.remove(id); progress=true; } // Extra fields on both sides are dropped
+          { TV2 old = that._args.remove(id); if( that._vs!=null ) old.find().lost_nongen(); progress=true; } // Extra fields on both sides are dropped
         }
     that._open &= this._open;
 
@@ -614,7 +639,7 @@ public class TV2 {
   private boolean vput(TV2 that, boolean progress) { VARS.put(this,that); return progress; }
   private TV2 vput(TV2 that) { VARS.put(this,that); return that; }
 
-  private TV2 _fresh(TV2[] nongen) {
+  private TV2 _fresh(Env.VStack nongen) {
     assert !is_unified();       // Already chased these down
     TV2 rez = VARS.get(this);
     if( rez!=null ) return rez; // Been there, done that
@@ -635,51 +660,96 @@ public class TV2 {
   }
 
   // --------------------------------------------
+  // Does 'this' type occur in any scope, mid-definition (as a forward-ref),
+  // visible from the use scope 'vs'?  If not, then return false (and
+  // typically make a fresh copy).  If it does, then 'this' reference is a
+  // recursive self-reference and needs to keep the self-type instead of
+  // making fresh.  Levels are kept current on union, so this is O(1) unless
+  // the level is only an upper bound.
+  public boolean nongen_in(Env.VStack vs) {
+    if( vs==null || _vs==null || !_vs.encloses(vs) ) return false; // Never bound deeper than the level
+    return !_vx || _occurs_in(vs); // Exact while all binding scopes nest
+  }
+
+  // Exact check: walk every var bound in 'vs' and its enclosing scopes
   private static final VBitSet ODUPS = new VBitSet();
-  public boolean nongen_in(TV2[] vs) {
-    if( vs==null ) return false;
+  private boolean _occurs_in(Env.VStack vs) {
     ODUPS.clear();
-    for( TV2 t2 : vs )
-      // Cannot do the U-F hack on 'vs' because it shows up in FreshNode hashCode.
-      if( _occurs_in_type(t2.find()) )
-        return true;
-    return false;
-  }
-
-  // Does 'this' type occur in any scope, mid-definition (as a forward-ref).
-  // If not, then return false (and typically make a fresh copy).
-  // If it does, then 'this' reference is a recursive self-reference
-  // and needs to keep the self-type instead of making fresh.
-  boolean _occurs_in(TV2[] vs) {
-    // Can NOT modify 'vs' for U-F, because blows FreshNode hash.
-    for( TV2 v : vs )
-      if( _occurs_in_type(v.find()) )
-        return true;
+    for( ; vs!=null; vs = vs._par )
+      for( TV2 t2 : vs._tvars )
+        if( _occurs_in_type(t2.find()) )
+          return true;
     return false;
   }
-
-  boolean _occurs_in_type(TV2 x) {
-    assert !is_unified() && !x.is_unified();
+  private boolean _occurs_in_type(TV2 x) {
     if( x==this ) return true;
     if( ODUPS.tset(x._uid) ) return false; // Been there, done that
-    if( x.is_tvar() && x._args!=null )
+    if( x._args!=null )
       for( TV2 tv2 : x._args.values() )
-        if( _occurs_in_type(tv2) )
+        if( _occurs_in_type(tv2.find()) )
           return true;
     return false;
   }
 
+  // Bind 'this' and all its structure no deeper than scope 'vs'.  Stops at
+  // parts already bound at least as far out, so cycles terminate and total
+  // work is bounded by how far levels can move outwards.
+  public void set_nongen(Env.VStack vs) { set_nongen(vs,false); }
+  private void set_nongen(Env.VStack vs, boolean vx) {
+    assert !is_unified();
+    // Binding scopes no longer nest; the common parent over-approximates
+    vx |= _vs!=null && !_vs.encloses(vs) && !vs.encloses(_vs);
+    Env.VStack lca = Env.VStack.lca(_vs,vs);
+    if( lca==_vs && (_vx || !vx) ) return; // Already bound at least this far out
+    _vs = lca;
+    _vx |= vx;
+    push_nongen();
+  }
+  private void push_nongen() {
+    if( _vs!=null && _args!=null )
+      for( TV2 tv : _args.values() )
+        tv.find().set_nongen(_vs,_vx);
+  }
+  // A bound TV2 dropped its path to 'this'; the level may now be too far out
+  private void lost_nongen() {
+    if( _vs==null || _vx ) return;
+    _vx = true;
+    if( _args!=null )
+      for( TV2 tv : _args.values() )
+        tv.find().lost_nongen();
+  }
+
   // --------------------------------------------
   // Attempt to lift a GCP call result, based on HM types.  Walk the input HM
   // type and GCP flow type in parallel and create a mapping.  Then walk the
   // output HM type and GCP flow type in parallel, and join output GCP types
   // with the matching input GCP type.
-  public static final NonBlockingHashMap  <TV2,Type> T2MAP = new NonBlockingHashMap<>();
-  public static final NonBlockingHashMapLong<String> WDUPS = new NonBlockingHashMapLong<>();
+  //
+  // The TV2-to-Type map and the visit set live in per-TV2 slots stamped with
+  // an epoch; bumping the epoch clears them all, so a lift allocates nothing
+  // and costs only the TV2s visited.
+  private static int LIFT_EPOCH, VISIT_EPOCH;
+  // Start a lift: forget all mapped input types
+  public static void lift_start() { LIFT_EPOCH++; }
+  // Start walking one input: forget all visits
+  public static void lift_arg() {
+    VISIT_EPOCH++;
+    if( VDIRTY ) { VDUPS.clear(); VDIRTY=false; }
+  }
+  // True if already walked against 't' since lift_arg.  The first Type per
+  // TV2 sits in its slot; a TV2 rarely meets more than one, and any more go
+  // to a side table.
+  private static final LongMap<String> VDUPS = new LongMap<>();
+  private static boolean VDIRTY;
+  private boolean visit( Type t ) {
+    if( _vmark!=VISIT_EPOCH ) { _vmark=VISIT_EPOCH; _vtype=t; return false; }
+    if( _vtype==t ) return true;
+    VDIRTY = true;
+    return VDUPS.putIfAbsent(dbl_uid(t._uid),"")!=null;
+  }
   public Type walk_types_in(TypeMem tmem, Type t) {
     assert !is_unified();
-    long duid = dbl_uid(t._uid);
-    if( WDUPS.putIfAbsent(duid,"")!=null ) return t;
+    if( visit(t) ) return t;
     if( is_err() ) return fput(Type.SCALAR); //
     // Base variables (when widened to an HM type) might force a lift.
     if( is_base() ) return fput(_type);
@@ -727,14 +797,16 @@ public class TV2 {
   }
   // Gather occurs of each TV2, and MEET all the corresponding Types.
   private Type fput(final Type t) {
-    T2MAP.merge(this, t, Type::meet);
+    if( _lmark!=LIFT_EPOCH ) { _lmark=LIFT_EPOCH; _ltype=t; }
+    else _ltype = _ltype.meet(t);
     return t;
   }
+  private Type fget() { return _lmark==LIFT_EPOCH ? _ltype : null; }
 
   public Type walk_types_out(Type t, CallEpiNode cepi) {
     assert !is_unified();
     if( t == Type.XSCALAR ) return t;  // No lift possible
-    Type tmap = T2MAP.get(this);
+    Type tmap = fget();
     if( is_leaf() || is_err() ) { // If never mapped on input, leaf is unbound by input
       if( tmap==null ) return t;
       push_dep(cepi);           // Re-run apply if this leaf re-maps
@@ -769,7 +841,12 @@ public class TV2 {
   // down the function parts; if any changes the fresh-application may make
   // progress.
   static final VBitSet DEPS_VISIT  = new VBitSet();
-  public void push_deps( UQNodes deps) { if( deps!=null ) for( Node dep : deps.values() ) push_dep(dep);}
+  public void push_deps( DepNodes deps) {
+    if( deps==null ) return;
+    assert DEPS_VISIT.isEmpty();
+    _push_updates(deps);        // One structural walk for the whole set
+    DEPS_VISIT.clear();
+  }
   public TV2 push_dep(Node dep) {
     assert DEPS_VISIT.isEmpty();
     _push_update(dep);
@@ -779,19 +856,28 @@ public class TV2 {
   private void _push_update(Node dep) {
     assert !is_unified();
     if( DEPS_VISIT.tset(_uid) ) return;
-    if( _deps!=null && _deps.get(dep._uid)!=null ) return; // Already here and in all children
+    if( _deps!=null && _deps.contains(dep) ) return; // Already here and in all children
     if( dep.is_dead() ) return;
-    _deps = _deps==null ? UQNodes.make(dep) : _deps.add(dep);
+    _deps = _deps==null ? DepNodes.make(dep) : _deps.add(dep);
     if( _args!=null )
       for( TV2 arg : _args.values() ) // Structural recursion on a complex TV2
         arg.find()._push_update(dep);
   }
+  private void _push_updates(DepNodes deps) {
+    assert !is_unified();
+    if( DEPS_VISIT.tset(_uid) ) return;
+    if( _deps==deps || (_deps!=null && _deps.containsAll(deps)) ) return; // Already here and in all children
+    _deps = _deps==null ? deps.share() : _deps.addAll(deps);
+    if( _args!=null )
+      for( TV2 arg : _args.values() ) // Structural recursion on a complex TV2
+        arg.find()._push_updates(deps);
+  }
 
   // Merge Dependent Node lists, 'this' into 'that'.  Required to trigger
   // CEPI.unify_lift when types change structurally, or when structures are
   // unifing on field names.
   private void merge_deps( TV2 that ) {
-    if( that._deps == null && that._args==null) that._deps = _deps;
+    if( that._deps == null && that._args==null) that._deps = _deps==null ? null : _deps.share();
     else that.push_deps(_deps);
   }
   // Merge Node lists, 'this' into 'that', for easier debugging.
@@ -908,5 +994,8 @@ public class TV2 {
   }
   static private SB str0(SB sb, VBitSet visit, TV2 t, VBitSet dups, boolean debug) { return t==null ? sb.p("_") : t.str(sb,visit,dups,debug); }
   private boolean is_tup() {  return _args.size()<=1 || _args.containsKey("0"); }
-  private Collection<String> sorted_flds() { return new TreeMap<>(_args).keySet(); }
+  private Iterable<String> sorted_flds() {
+    if( _args.size()<=1 ) return _args.keySet(); // Already sorted
+    TreeSet<String> s = new TreeSet<>(); for( String k : _args.keySet() ) s.add(k); return s;
+  }
 }
@@ -2,6 +2,8 @@ package com.cliffc.aa.type;
 
 import com.cliffc.aa.util.*;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.util.HashMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
@@ -97,7 +99,7 @@ public class Type<T extends Type<T>> implements Cloneable {
   public int _hash;      // Hash for this Type; built recursively
   byte _type;            // Simple types use a simple enum
   public String _name;   // All types can be named
-  T _dual; // All types support a dual notion, eagerly computed and cached here
+  T _dual; // All types support a dual notion, lazily computed and cached here
 
   protected Type() { _uid = _uid(); }
   private int _uid() { return CNT++; }
@@ -133,7 +135,23 @@ public class Type<T extends Type<T>> implements Cloneable {
   // the Type hierarchy.  Instead, subtypes override 'str(...)' where the extra
   // args stop cycles (VBitSet) or sharpen pointers (TypeMem), or optimize
   // printing strings (SB).
-  @Override public final String toString() { return str(new SB(),new VBitSet(),null,true).toString(); }
+  @Override public final String toString() { return str(true); }
+  // Cached rendering without memory.  Interned Types never change, so their
+  // strings are kept in side tables, costing only the Types ever printed;
+  // others are rendered fresh.  Only whole-Type renders are kept: a nested
+  // render depends on what the shared VBitSet already saw.
+  private static final ConcurrentHashMap<Type,String> DSTRS = new ConcurrentHashMap<>(), PSTRS = new ConcurrentHashMap<>();
+  public final String str( boolean debug ) {
+    if( !interned() ) return str(new SB(),new VBitSet(),null,debug).toString();
+    ConcurrentHashMap<Type,String> strs = debug ? DSTRS : PSTRS;
+    String s = strs.get(this);
+    if( s==null ) strs.put(this,s=str(new SB(),new VBitSet(),null,debug).toString());
+    return s;
+  }
+  // Whole-Type render onto sb, using the cache when memory plays no part
+  public final SB str( SB sb, TypeMem mem, boolean debug ) {
+    return mem==null ? sb.p(str(debug)) : str(sb,new VBitSet(),mem,debug);
+  }
   // Nice, REPL-friendly and error-friendly dump.
   // Debug flag dumps, e.g. raw aliases and raw fidxs.
   // This is the 'base' printer, as changing this changes behavior.
@@ -165,6 +183,14 @@ public class Type<T extends Type<T>> implements Cloneable {
     return this==t2 ? t2 : free(t2);
   }
 
+  // The most-made Types also keep a direct-mapped cache of canonical
+  // instances, indexed by a hash of the make() arguments.  A hit skips the
+  // pool malloc, init, hash and INTERN probe.  Lossy: a collision just
+  // overwrites.  Only interned Types go in, so no filling while mid-building
+  // a recursive type.  Single-threaded, like the POOLS.
+  static final int CACHE_LOG = 10;
+  static int cache_idx( long h ) { return (int)((h*0x9E3779B97F4A7C15L)>>>(64-CACHE_LOG)); }
+
   // ----------------------------------------------------------
   // Hash-Cons - all Types are interned in this hash table.  Thus an equality
   // check of a (possibly very large) Type is always a simple pointer-equality
@@ -176,26 +202,23 @@ public class Type<T extends Type<T>> implements Cloneable {
     _hash = compute_hash();     // Set hash
     T t2 = (T)INTERN.get(this); // Lookup
     if( t2!=null ) {            // Found prior
-      assert t2._dual != null;  // Prior is complete with dual
       assert this != t2;        // Do not hashcons twice, should not get self back
       return t2;                // Return prior
     }
     if( RECURSIVE_MEET > 0 )    // Mid-building recursive types; do not intern
       return (T)this;
-    // Not in type table
-    _dual = null;                // No dual yet
-    INTERN.put(this,this);       // Put in table without dual
-    T d = xdual();               // Compute dual without requiring table lookup, and not setting name
-    d._name = _name;             // xdual does not set name either
-    d._hash = d.compute_hash();  // Set dual hash
-    _dual = d;
-    if( this==d ) return d;      // Self-symmetric?  Dual is self
-    assert !equals(d);           // Self-symmetric is handled by caller
-    assert d._dual==null;        // Else dual-dual not computed yet
-    assert INTERN.get(d)==null;
-    d._dual = (T)this;
-    INTERN.put(d,d);
-    return (T)this;
+    // Not in type table.  Put in table without dual; most Types never have
+    // their dual asked for, so it is made on demand.
+    assert _dual==null;
+    t2 = (T)INTERN.putIfAbsent(this,this);
+    return t2==null ? (T)this : t2; // Racing thread may have beaten us in
+  }
+  // Intern a finished acyclic part of a cyclic Type under construction; all
+  // children are already interned.  Dual is made on demand, as in hashcons.
+  final void intern_acyclic() {
+    assert _hash!=0 && _dual==null && RECURSIVE_MEET==0;
+    Type t2 = INTERN.putIfAbsent(this,this);
+    assert t2==null;
   }
   @SuppressWarnings("unchecked")
   final T retern( ) {
@@ -221,7 +244,7 @@ public class Type<T extends Type<T>> implements Cloneable {
     return errs==0;
   }
   private boolean intern_check0(Type v) {
-    if( this != v || _dual==null || _dual._dual!=this || compute_hash()!=_hash ) return false;
+    if( this != v || (_dual!=null && _dual._dual!=this) || compute_hash()!=_hash ) return false;
     return intern_check1();
   }
   boolean intern_check1() { return true; }
@@ -367,13 +390,39 @@ public class Type<T extends Type<T>> implements Cloneable {
   // Simplify pointers (lose what they point at).
   public Type simple_ptr() { return this; }
 
-  // Return cached dual
-  public final T dual() { return _dual; }
+  // Return cached dual, making it on first request.  The dual goes through
+  // the intern table, so an equal Type interned on its own gets paired with
+  // this one; racing threads publish with a CAS and the first one wins.  The
+  // acquiring read pairs with the CAS, so a dual seen is fully built.
+  @SuppressWarnings("unchecked")
+  public final T dual() { T d = (T)DUAL.getAcquire(this); return d!=null ? d : make_dual(); }
+  @SuppressWarnings("unchecked")
+  private T make_dual() {
+    assert interned();          // Only interned Types have a lazy dual
+    T d = xdual();              // Compute dual without requiring table lookup, and not setting name
+    if( d != this ) {           // Self-symmetric?  Dual is self
+      d._name = _name;          // xdual does not set name either
+      d._hash = d.compute_hash();
+      assert !equals(d);        // Self-symmetric is handled by xdual
+      T d2 = (T)INTERN.putIfAbsent(d,d);
+      if( d2!=null ) d = d2;    // Already interned, by itself or a racing thread
+      DUAL.compareAndSet(d,null,this);
+    }
+    DUAL.compareAndSet(this,null,d);
+    d = (T)DUAL.getAcquire(this);  // Winner of any race
+    assert d.dual()==this;
+    return d;
+  }
+  private static final VarHandle DUAL;
+  static {
+    try { DUAL = MethodHandles.lookup().findVarHandle(Type.class,"_dual",Type.class); }
+    catch( ReflectiveOperationException e ) { throw new ExceptionInInitializerError(e); }
+  }
 
   // Compute dual right now.  Overridden in subclasses.
   @SuppressWarnings("unchecked")
   T xdual() { return (T)new Type().init((byte)(_type^1),""); }
-  T rdual() { assert _dual!=null; return _dual; }
+  T rdual() { return dual(); }
 
   // ----------------------------------------------------------
   // Memoize meet results
@@ -616,12 +665,12 @@ public class Type<T extends Type<T>> implements Cloneable {
   // Expect: ~B & ~MT == ~B
   private boolean check_symmetric( Type t, Type mt ) {
     if( t==this ) return true;
-    Type ta = mt._dual.meet(t._dual);
-    Type tb = mt._dual.meet(  _dual);
-    if( ta==t._dual && tb==_dual ) return true;
-    System.err.print("("+this+" & "+t+")=="+mt+" but \n("+mt._dual+" & ");
-    if( ta!=t._dual ) System.err.println(t._dual+")=="+ta+" \nwhich is not "+t._dual);
-    else              System.err.println(  _dual+")=="+tb+" \nwhich is not "+  _dual);
+    Type ta = mt.dual().meet(t.dual());
+    Type tb = mt.dual().meet(  dual());
+    if( ta==t.dual() && tb==dual() ) return true;
+    System.err.print("("+this+" & "+t+")=="+mt+" but \n("+mt.dual()+" & ");
+    if( ta!=t.dual() ) System.err.println(t.dual()+")=="+ta+" \nwhich is not "+t.dual());
+    else               System.err.println(  dual()+")=="+tb+" \nwhich is not "+  dual());
     return false;
   }
 
@@ -50,6 +50,7 @@ public class TypeAry extends TypeObj<TypeAry> {
   @Override
   TypeAry rdual() {
     if( _dual != null ) return _dual;
+    if( interned() ) return dual();
     TypeAry dual = _dual = xdual();
     dual._dual = this;
     dual._hash = dual.compute_hash();
@@ -69,7 +69,15 @@ public class TypeFld extends Type<TypeFld> {
   static { new Pool(TFLD,new TypeFld()); }
   public static TypeFld malloc( String fld, Type t, Access access, int order ) { return POOLS[TFLD].<TypeFld>malloc().init(fld,t,access,order); }
   public static TypeFld malloc( String fld ) { return POOLS[TFLD].<TypeFld>malloc().init(fld,null,Access.Final,oBot); }
-  public static TypeFld make( String fld, Type t, Access access, int order ) { return malloc(fld,t,access,order).hashcons_free(); }
+  private static final TypeFld[] CACHE = new TypeFld[1<<CACHE_LOG];
+  public static TypeFld make( String fld, Type t, Access access, int order ) {
+    int idx = cache_idx(((long)fld.hashCode()<<32)+((long)t._uid<<4)+(access.ordinal()<<2)+order);
+    TypeFld f = CACHE[idx];
+    if( f!=null && f._t==t && f._order==order && f._access==access && f._fld.equals(fld) ) return f;
+    f = malloc(fld,t,access,order).hashcons_free();
+    if( RECURSIVE_MEET==0 ) CACHE[idx]=f;
+    return f;
+  }
   public static TypeFld make( String fld, Type t, int order ) { return make(fld,t,Access.Final,order); }
   public static TypeFld make( String fld, Type t ) { return make(fld,t,Access.Final,oBot); }
   // Make a not-interned version for building cyclic types
@@ -83,10 +91,13 @@ public class TypeFld extends Type<TypeFld> {
   public TypeFld make_from(Type t) { return t==_t ? this : make(_fld,t,_access,_order); }
   public TypeFld make_from(Type t, Access a) { return (t==_t && a==_access) ? this : make(_fld,t,a,_order); }
 
-  @Override protected TypeFld xdual() { return new TypeFld().init(sdual(_fld),_t._dual,_access.dual(),odual(_order)); }
+  @Override protected TypeFld xdual() { return xdual(_t.dual()); }
+  // Dual with the given field type; a cyclic dual sets the type afterwards
+  TypeFld xdual(Type t) { return new TypeFld().init(sdual(_fld),t,_access.dual(),odual(_order)); }
   @Override protected TypeFld rdual() {
     assert _hash!=0;
     if( _dual != null ) return _dual;
+    if( interned() ) return dual();
     TypeFld dual = _dual = new TypeFld().init(sdual(_fld),_t==null ? null : _t.rdual(),_access.dual(),odual(_order));
     dual._dual = this;
     dual._hash = dual.compute_hash();
@@ -27,10 +27,16 @@ public class TypeFlt extends Type<TypeFlt> {
   }
 
   static { new Pool(TFLT,new TypeFlt()); }
+  private static final TypeFlt[] CACHE = new TypeFlt[1<<CACHE_LOG];
   public static Type make( int x, int z, double con ) {
     if( x==0 && (double)((long)con)==con ) return TypeInt.con((long)con);
+    int idx = cache_idx(Double.doubleToRawLongBits(con)*31+(x<<8)+z);
+    TypeFlt t = CACHE[idx];
+    if( t!=null && t._con==con && t._x==x && t._z==z ) return t;
     TypeFlt t1 = POOLS[TFLT].malloc();
-    return t1.init(x,z,con).hashcons_free();
+    t = t1.init(x,z,con).hashcons_free();
+    if( RECURSIVE_MEET==0 ) CACHE[idx]=t;
+    return t;
   }
 
   public static Type con(double con) { return make(0,log(con),con); }
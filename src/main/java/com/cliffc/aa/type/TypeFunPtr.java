@@ -65,10 +65,16 @@ public final class TypeFunPtr extends Type<TypeFunPtr> {
   public String names(boolean debug) { return FunNode.names(_fidxs,new SB(),debug).toString(); }
 
   static { new Pool(TFUNPTR,new TypeFunPtr()); }
+  private static final TypeFunPtr[] CACHE = new TypeFunPtr[1<<CACHE_LOG];
   public static TypeFunPtr make( BitsFun fidxs, int nargs, Type disp ) {
     assert disp.is_display_ptr(); // Simple display ptr.  Just the alias.
+    int idx = cache_idx(((long)fidxs.hashCode()<<32)+((long)disp._uid<<6)+nargs);
+    TypeFunPtr t = CACHE[idx];
+    if( t!=null && t._disp==disp && t._nargs==nargs && t._fidxs.equals(fidxs) ) return t;
     TypeFunPtr t1 = POOLS[TFUNPTR].malloc();
-    return t1.init(fidxs,nargs,disp).hashcons_free();
+    t = t1.init(fidxs,nargs,disp).hashcons_free();
+    if( RECURSIVE_MEET==0 ) CACHE[idx]=t;
+    return t;
   }
 
   public static TypeFunPtr make( int fidx, int nargs, Type disp ) { return make(BitsFun.make0(fidx),nargs,disp); }
@@ -88,6 +94,7 @@ public final class TypeFunPtr extends Type<TypeFunPtr> {
   @Override protected TypeFunPtr rdual() {
     assert _hash!=0;
     if( _dual != null ) return _dual;
+    if( interned() ) return dual();
     TypeFunPtr dual = _dual = new TypeFunPtr().init(_fidxs.dual(),_nargs,_disp.rdual());
     dual._dual = this;
     dual._hash = dual.compute_hash();
@@ -28,13 +28,27 @@ public class TypeInt extends Type<TypeInt> {
   }
 
   static { new Pool(TINT,new TypeInt()); }
+  private static final TypeInt[] CACHE = new TypeInt[1<<CACHE_LOG];
+  private static final TypeInt[] SMALL = new TypeInt[128+1024]; // Constants -128 to 1023, by value
   public static TypeInt make( int x, int z, long con ) {
     if( Math.abs(x)==1 && z==1 && con==0) { con=1; x=0; } // not-null-bool is just a 1
+    int idx = cache_idx(con*31+(x<<8)+z);
+    TypeInt t = CACHE[idx];
+    if( t!=null && t._con==con && t._x==x && t._z==z ) return t;
     TypeInt t1 = POOLS[TINT].malloc();
-    return t1.init(x,z,con).hashcons_free();
+    t = t1.init(x,z,con).hashcons_free();
+    if( RECURSIVE_MEET==0 ) CACHE[idx]=t;
+    return t;
   }
 
-  public static TypeInt con(long con) { return make(0,log(con),con); }
+  public static TypeInt con(long con) {
+    if( con < -128 || con >= 1024 ) return make(0,log(con),con);
+    TypeInt t = SMALL[(int)con+128];
+    if( t!=null ) return t;
+    t = make(0,log(con),con);
+    if( RECURSIVE_MEET==0 ) SMALL[(int)con+128]=t;
+    return t;
+  }
 
   static public  final TypeInt  INT64 = make(-2,64,0);
   static public  final TypeInt  INT32 = make(-2,32,0);
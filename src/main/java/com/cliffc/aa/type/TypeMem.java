@@ -4,7 +4,6 @@ import com.cliffc.aa.util.*;
 
 import java.util.Arrays;
 import java.util.BitSet;
-import java.util.HashMap;
 
 import static com.cliffc.aa.type.TypeFld.Access;
 
@@ -57,13 +56,6 @@ public class TypeMem extends Type<TypeMem> {
   // during canonicalization.
   private TypeObj[] _pubs;
 
-  // A cache of sharpened pointers.  Pointers get sharpened by looking up their
-  // aliases in this memory (perhaps merging several aliases).  The process is
-  // recursive and "deeply" sharpens pointers, and is somewhat expensive.
-  // Maintain a cache of prior results.  Not related to the object's Type, so
-  // not part of the hash/equals checks.  Optional.  Lazily filled in.
-  private HashMap<TypeMemPtr,TypeMemPtr> _sharp_cache;
-
   private TypeMem init(TypeObj[] pubs) {
     super.init(TMEM,"");
     assert check(pubs);    // Caller has canonicalized arrays already
@@ -398,23 +390,100 @@ public class TypeMem extends Type<TypeMem> {
     return make0(tos);
   }
 
+  // A cache of sharpened pointers.  Pointers get sharpened by looking up their
+  // aliases in this memory (perhaps merging several aliases).  The process is
+  // recursive and "deeply" sharpens pointers, and is somewhat expensive.
+  // Memories change a little at every Store, so results are kept globally,
+  // not per-memory: a bounded direct-mapped cache by (memory,dull), and the
+  // last result per dull pointer with the aliases it read.  A different
+  // memory agreeing on all those aliases sharpens the same, without a redo.
+  private static final TypeMem   [] SMEM  = new TypeMem   [1<<CACHE_LOG];
+  private static final TypeMemPtr[] SDULL = new TypeMemPtr[1<<CACHE_LOG], SSHARP = new TypeMemPtr[1<<CACHE_LOG];
+  private static final TypeMem   [] LMEM  = new TypeMem   [1<<CACHE_LOG];
+  private static final TypeMemPtr[] LDULL = new TypeMemPtr[1<<CACHE_LOG], LSHARP = new TypeMemPtr[1<<CACHE_LOG];
+  private static final int[][] LDEPS = new int[1<<CACHE_LOG][];
+  // Results made during one sharpen, all against the same memory
+  private static final IdentMap<TypeMemPtr,TypeMemPtr> SHARPS = new IdentMap<>();
+
   // Sharpen a dull pointer against this memory.
   public TypeMemPtr sharpen( TypeMemPtr dull ) {
-    assert dull==dull.simple_ptr();
-    if( _sharp_cache != null ) { // Check the cache first
-      TypeMemPtr sharp = _sharp_cache.get(dull);
-      if( sharp != null ) return sharp;
+    assert dull==dull.simple_ptr() && interned();
+    int sdx = cache_idx(((long)_uid<<32)+dull._uid);
+    if( SMEM[sdx]==this && SDULL[sdx]==dull ) return SSHARP[sdx];
+    int ldx = cache_idx(dull._uid);
+    TypeMemPtr sharp;
+    if( LDULL[ldx]==dull && same_at(LMEM[ldx],LDEPS[ldx]) ) {
+      sharp = LSHARP[ldx];      // Incremental: no alias read has changed
+      assert sharpen_check(dull,sharp);
+    } else {
+      // Switch to TypeStruct for building recursive structures.
+      assert SHARPS.isEmpty();
+      sharp = TypeStruct.sharpen(this,dull);
+      for( int i=0; i<SHARPS.size(); i++ ) sharput0(SHARPS.key(i),SHARPS.val(i));
+      SHARPS.clear();
+      LDULL[ldx]=dull;  LSHARP[ldx]=sharp;  LDEPS[ldx]=sharp_deps(sharp);
     }
-    // Switch to TypeStruct for building recursive structures.
-    return TypeStruct.sharpen(this,dull);
+    LMEM[ldx]=this;
+    sharput0(dull,sharp);
+    return sharp;
+  }
+  // Full recompute, to check an incremental reuse; leaves the caches as-is
+  private boolean sharpen_check( TypeMemPtr dull, TypeMemPtr sharp ) {
+    assert SHARPS.isEmpty();
+    TypeMemPtr full = TypeStruct.sharpen(this,dull);
+    SHARPS.clear();
+    return full==sharp;
+  }
+  private void sharput0( TypeMemPtr dull, TypeMemPtr sharp ) {
+    int sdx = cache_idx(((long)_uid<<32)+dull._uid);
+    SMEM[sdx]=this;  SDULL[sdx]=dull;  SSHARP[sdx]=sharp;
+  }
+  // Sharpened during this sharpen, or before
+  TypeMemPtr sharp_get( TypeMemPtr dull ) {
+    TypeMemPtr sharp = SHARPS.get(dull);
+    if( sharp != null ) return sharp;
+    int sdx = cache_idx(((long)_uid<<32)+dull._uid);
+    if( SMEM[sdx]!=this || SDULL[sdx]!=dull ) return null;
+    SHARPS.put(dull,sharp=SSHARP[sdx]); // Keep for this sharpen, the cache is lossy
+    return sharp;
   }
-  TypeMemPtr sharp_get( TypeMemPtr tmp ) { return _sharp_cache==null ? null : _sharp_cache.get(tmp); }
   TypeMemPtr sharput( TypeMemPtr dull, TypeMemPtr sharp ) {
     assert dull.interned() && sharp.interned();
-    if( _sharp_cache==null ) _sharp_cache = new HashMap<>();
-    _sharp_cache.put(dull,sharp);
+    SHARPS.put(dull,sharp);
     return sharp;               // return new not old
   }
+  // True if both memories agree on all these aliases
+  private boolean same_at( TypeMem mem, int[] aliases ) {
+    if( mem==this ) return true;
+    for( int alias : aliases )
+      if( at(alias) != mem.at(alias) )
+        return false;
+    return true;
+  }
+  // Aliases read to sharpen: every alias, with kids, of every pointer in the
+  // result.  Mirrors the walk in TypeStruct._dull.
+  private static final VBitSet DVISIT = new VBitSet();
+  private static final AryInt DEPS = new AryInt();
+  private static int[] sharp_deps( TypeMemPtr sharp ) {
+    _deps(sharp);
+    int[] deps = Arrays.copyOf(DEPS._es,DEPS._len);
+    DEPS.clear();
+    DVISIT.clear();
+    return deps;
+  }
+  private static void _deps( TypeMemPtr ptr ) {
+    if( DVISIT.tset(ptr._uid) ) return;
+    for( int alias : ptr._aliases )
+      if( alias != 0 )
+        for( int kid=alias; kid != 0; kid=BitsAlias.next_kid(alias,kid) )
+          DEPS.push(kid);
+    if( ptr._obj instanceof TypeStruct )
+      for( TypeFld fld : ((TypeStruct)ptr._obj).flds() ) {
+        Type t = fld._t;
+        if( t instanceof TypeFunPtr ) t = ((TypeFunPtr)t)._disp;
+        if( t instanceof TypeMemPtr ) _deps((TypeMemPtr)t);
+      }
+  }
   // Sharpen if a maybe-pointer
   @Override public Type sharptr( Type ptr ) {
     return ptr instanceof TypeMemPtr ? sharpen((TypeMemPtr)ptr) :
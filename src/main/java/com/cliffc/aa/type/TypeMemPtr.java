@@ -65,9 +65,15 @@ public final class TypeMemPtr extends Type<TypeMemPtr> {
   }
 
   static { new Pool(TMEMPTR,new TypeMemPtr()); }
+  private static final TypeMemPtr[] CACHE = new TypeMemPtr[1<<CACHE_LOG];
   public static TypeMemPtr make(BitsAlias aliases, TypeObj obj ) {
+    int idx = cache_idx(((long)aliases.hashCode()<<32)+obj._uid);
+    TypeMemPtr t = CACHE[idx];
+    if( t!=null && t._obj==obj && t._aliases.equals(aliases) ) return t;
     TypeMemPtr t1 = POOLS[TMEMPTR].malloc();
-    return t1.init(aliases,obj).hashcons_free();
+    t = t1.init(aliases,obj).hashcons_free();
+    if( RECURSIVE_MEET==0 ) CACHE[idx]=t;
+    return t;
   }
 
   public static TypeMemPtr make( int alias, TypeObj obj ) { return make(BitsAlias.make0(alias),obj); }
@@ -141,6 +147,7 @@ public final class TypeMemPtr extends Type<TypeMemPtr> {
   @Override TypeMemPtr rdual() {
     assert _hash!=0;
     if( _dual != null ) return _dual;
+    if( interned() ) return dual();
     TypeMemPtr dual = _dual = new TypeMemPtr().init(_aliases.dual(),(TypeObj)_obj.rdual());
     dual._dual = this;
     dual._hash = dual.compute_hash();
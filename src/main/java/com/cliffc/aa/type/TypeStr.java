@@ -54,6 +54,7 @@ public class TypeStr extends TypeObj<TypeStr> {
   @Override protected TypeStr xdual() { return _con == null ? new TypeStr().init(_name, !_any,_con) : this; }
   @Override TypeStr rdual() {
     if( _dual != null ) return _dual;
+    if( interned() ) return dual();
     TypeStr dual = _dual = xdual();
     dual._dual = this;
     dual._hash = dual.compute_hash();
@@ -295,7 +295,7 @@ public class TypeStruct extends TypeObj<TypeStruct> {
   @Override boolean is_display() {
     TypeFld disp;
     return
-      this==TypeMemPtr.DISPLAY || this==TypeMemPtr.DISPLAY._dual ||
+      this==TypeMemPtr.DISPLAY || this==TypeMemPtr.DISPLAY.dual() ||
       ((disp=_flds.get("^"))!=null && disp.is_display_ptr());
   }
 
@@ -331,6 +331,7 @@ public class TypeStruct extends TypeObj<TypeStruct> {
   @Override TypeStruct rdual() {
     assert _hash == compute_hash();
     if( _dual != null ) return _dual;
+    if( interned() ) return dual(); // Interned parts make their dual lazily
     assert !interned();
     TypeStruct dual = _dual = malloc(_name,!_any,!_open);
     dual._dual = this;          // Stop the recursion
@@ -338,7 +339,7 @@ public class TypeStruct extends TypeObj<TypeStruct> {
     // Have to add the fields first, then set the hash, then loop over the fields recursing.
     for( TypeFld fld : _flds.values() )
       // Some fields are interned already, the cyclic ones are not.
-      dual.add_fld(fld.interned() ? fld._dual : fld.xdual());
+      dual.add_fld(fld.interned() ? fld.dual() : fld.xdual(fld._t._dual));
     dual._hash = dual.compute_hash();
     for( TypeFld fld : _flds.values() )
       // Some fields are interned already, the cyclic ones are not.
@@ -473,10 +474,8 @@ public class TypeStruct extends TypeObj<TypeStruct> {
       Type mts = mtx==null ? mti : mtx.meet(mti); // Meet again
       fld.setX(mts);                      // Finally update
     }
-    // Check for repeats right now
-    for( TypeStruct ts : MEETS0.values() )
-      if( ts!=mt && ts.equals(mt) )
-        { mt = ts; break; } // Union together
+    // Repeats in the result are not checked here; the final shrink()
+    // minimizes the whole cycle at once.
 
     // Lower recursive-meet flag.  At this point the Meet 'mt' is still
     // speculative and not interned.
@@ -519,6 +518,14 @@ public class TypeStruct extends TypeObj<TypeStruct> {
     if( old == null ) {         // Not a dup
       for( Type t : reachs )
         assert t.intern_lookup()==null && t._hash==t.compute_hash() && t._dual==null;
+      // Members not on the cycle intern as plain Types, children first, and
+      // get their dual lazily like any other.  Else a dual interned earlier
+      // on its own would collide with the one made by the cyclic dual.
+      for( boolean progress=true; progress; ) {
+        progress = false;
+        for( int i=reachs._len-1; i>=0; i-- )
+          if( kids_interned(reachs.at(i)) ) { reachs.del(i).intern_acyclic(); progress = true; }
+      }
       rdual();               // Complete cyclic dual
       // Insert all members of the cycle into the hashcons.  If self-symmetric,
       // also replace entire cycle with self at each point.
@@ -548,14 +555,29 @@ public class TypeStruct extends TypeObj<TypeStruct> {
 
   // This is for a struct that has grown 'too deep', and needs to be
   // approximated to avoid infinite growth.
-  public  static final NonBlockingHashMapLong<Type> UF = new NonBlockingHashMapLong<>();
-  private static final IHashMap OLD2APX = new IHashMap();
+  public  static final LongMap<Type> UF = new LongMap<>();
+  private static final IdentMap<Type,Type> OLD2APX = new IdentMap<>(); // Keys are interned
+  // Results are a pure function of the interned 'this', 'cutoff' and 'alias',
+  // and GCP and HM ask for the same ones over and over as values settle.
+  // Interned Types are never freed, so their _uid is a stable key; alias
+  // numbers restart with each compile, so the cache is cleared on reset.
+  private static final LongMap<TypeStruct> APPROX = new LongMap<>();
+  public static void reset() { APPROX.clear(); }
   public TypeStruct approx( int cutoff, int alias ) {
     boolean shallow=true;
     for( TypeFld fld : _flds.values() )
       if( fld._t._type == TMEMPTR ) { shallow=false; break; }
     if( shallow ) return this;  // Fast cutout for boring structs
-
+    assert interned() && 0 <= cutoff && cutoff < 256 && 0 < alias && alias < (1<<24);
+    long key = ((long)_uid<<32) | ((long)alias<<8) | cutoff;
+    TypeStruct rez = APPROX.get(key);
+    if( rez == null ) {
+      rez = approx0(cutoff,alias);
+      APPROX.put(key,rez);
+    }
+    return rez;
+  }
+  private TypeStruct approx0( int cutoff, int alias ) {
     // Scan the old copy for elements that are too deep.
     // 'Meet' those into the clone at one layer up.
     RECURSIVE_MEET++;
@@ -586,13 +608,13 @@ public class TypeStruct extends TypeObj<TypeStruct> {
     // last step, as the last step will be MEET with an arbitrary structure.
     // Use alternative OLD past depth, to keep looping unrelated types
     // folding up.  Otherwise unrelated types might expand endlessly.
-    TypeStruct nt = OLD2APX.get(old);
+    TypeStruct nt = (TypeStruct)OLD2APX.get(old);
     if( nt != null ) return ufind(nt);
 
     if( isnews ) {            // Depth-increasing struct?
       if( d==cutoff ) {       // Cannot increase depth any more
         cutoffs.push(old);    // Save cutoff point for later MEET
-        return OLD2APX.get(dold); // Return last valid depth - forces cycle
+        return (TypeStruct)OLD2APX.get(dold); // Return last valid depth - forces cycle
       } else {
         assert cutoffs == null; // Approaching max depth, make a place to record cutoffs
         if( d+1==cutoff ) cutoffs = new Ary<>(TypeStruct.class);
@@ -626,7 +648,7 @@ public class TypeStruct extends TypeObj<TypeStruct> {
     // last step, as the last step will be MEET with an arbitrary structure.
     // Use alternative OLD past depth, to keep looping unrelated types
     // folding up.  Otherwise unrelated types might expand endlessly.
-    TypeMemPtr nt = OLD2APX.get(old);
+    TypeMemPtr nt = (TypeMemPtr)OLD2APX.get(old);
     if( nt != null ) return ufind(nt);
 
     // Walk internal structure, meeting into the approximation
@@ -649,7 +671,7 @@ public class TypeStruct extends TypeObj<TypeStruct> {
     // last step, as the last step will be MEET with an arbitrary structure.
     // Use alternative OLD past depth, to keep looping unrelated types
     // folding up.  Otherwise unrelated types might expand endlessly.
-    TypeFunPtr nt = OLD2APX.get(old);
+    TypeFunPtr nt = (TypeFunPtr)OLD2APX.get(old);
     if( nt != null ) return ufind(nt);
     if( old._disp==Type.ANY )
        return old; // no ufind because its old
@@ -733,13 +755,17 @@ public class TypeStruct extends TypeObj<TypeStruct> {
     return nt;
   }
 
-  // Walk an existing, not-interned, structure.  Stop at any interned leaves.
-  // Check for duplicating an interned Type or a UF hit, and use that instead.
-  // Computes the final hash code.
-  private static final IHashMap DUPS = new IHashMap();
+  // Canonicalize the not-interned graph reachable from 'this' as a DFA
+  // minimization.  States are the not-interned Types; transitions are the
+  // child edges, labeled by field name out of structs (fields, memptrs and
+  // funptrs have a lone child); interned children are part of a state's
+  // label.  Hopcroft partition refinement finds all equivalent states in
+  // O(E log N) and unions each class to one representative.  Pending unions
+  // (from approx) are applied first.  States equal to an already-interned
+  // Type are then replaced by it, which can expose more equivalences.
+  // Nothing is interned here.
   private TypeStruct shrink() {
-    Ary<Type> reaches = reachable();
-    assert DUPS.isEmpty();
+    Ary<Type> reaches = reachable(true);
     // Set all hashes.  Hash recursion stops at TypeStructs, so do them first.
     for( int i=0; i<reaches._len; i++ )
       if( reaches.at(i) instanceof TypeStruct ) reaches.at(i).set_hash();
@@ -752,76 +778,171 @@ public class TypeStruct extends TypeObj<TypeStruct> {
     for( int i=0; i<reaches._len; i++ )
       reaches.at(i).set_hash();
 
-    // Need back-edges to do this iteratively in 1 pass.  This algo just sweeps
-    // until no more progress, but with generic looping instead of recursion.
-    boolean progress = true;
-    while( progress ) {
-      progress = false;
-      DUPS.clear();
-      for( int j=0; j<reaches._len; j++ ) {
-        Type t = reaches.at(j);
-        Type t0 = ufind(t);
-        Type t1 = t0.intern_lookup();
-        if( t1==null ) t1 = DUPS.get(t0);
-        if( t1 != null ) t1 = ufind(t1);
-        if( t1 == t0 ) continue; // This one is already interned
-        if( t1 != null ) { union(t0,t1); progress = true; continue; }
-
-        switch( t._type ) {
-        case TMEMPTR:           // Update TypeMemPtr internal field
-          TypeMemPtr tm = (TypeMemPtr)t0;
-          TypeObj t4 = tm._obj;
-          TypeObj t5 = ufind(t4);
-          if( t4 != t5 ) {
-            tm._obj = t5;
-            progress |= post_mod(tm);
-            if( !t5.interned() ) reaches.push(t5);
-          }
-          break;
-        case TFUNPTR:           // Update TypeFunPtr internal field
-          TypeFunPtr tfptr = (TypeFunPtr)t0;
-          Type t6 = tfptr._disp;
-          Type t7 = ufind(t6);
-          if( t6 != t7 ) {
-            tfptr._disp = t7;
-            progress |= post_mod(tfptr);
-            if( !t7.interned() ) reaches.push(t7);
-          }
-          break;
-        case TSTRUCT:           // Update all TypeStruct fields
-          TypeStruct ts = (TypeStruct)t0;
-          for( TypeFld tfld : ts._flds.values() ) {
-            TypeFld tfld2 = ufind(tfld);
-            if( tfld != tfld2 ) {
-              progress = true;
-              ts.set_fld(tfld2);
-            }
-          }
-          break;
-        case TFLD:              // Update all TFlds
-          TypeFld tfld = (TypeFld)t0;
-          Type tft = tfld._t, t2 = ufind(tft);
-          if( tft != t2 ) {
-            progress = true;
-            int old_hash = tfld._hash;
-            tfld._t = t2;
-            assert old_hash == tfld.compute_hash();
-          }
-          break;
-
-        default: break;
+    // Alternate minimizing and replacing states equal to an interned Type,
+    // until no more are replaced.  Usually one round.
+    while( true ) {
+      if( minimize(reaches) ) reaches = reachable(true);
+      if( !intern_fold(reaches) ) break;
+      reaches = reachable(true);
+    }
+    return ufind(this);
+  }
+
+  // Union states equal to an interned Type to it.  The cyclic equals pairs
+  // states 1-to-1, so it only finds a match from a minimal graph, and only
+  // once the state's children match: go children-first.  Matches out of
+  // order are found by the caller's next round.
+  private static boolean intern_fold( Ary<Type> reaches ) {
+    boolean progress = false;
+    for( int i=reaches._len-1; i>=0; i-- ) {
+      Type t = reaches.at(i);
+      if( ufind(t) != t ) continue;
+      uf_edges(t);
+      Type t1 = t.intern_lookup();
+      if( t1 != null && t1 != t ) { union(t,t1); progress = true; }
+    }
+    return progress;
+  }
+
+  // Hopcroft minimization over the states in 'reaches'.  Unions every class
+  // of equivalent states into its first member.  True if any union.  All
+  // scratch is static and reused; shrink() is not reentrant.
+  private static final IdentMap<Type,Integer> SIDX = new IdentMap<>();   // State numbers
+  private static final HashMap<String,Integer> LBLS = new HashMap<>();   // Field-name labels by value; 0 is the lone-child label
+  private static final LongMap<Integer> HEADS = new LongMap<>();         // Label hash to initial class chain
+  private static final Ary<Type> REPS = new Ary<>(Type.class);           // One state per initial class
+  private static final AryInt CHAIN = new AryInt(), WORK = new AryInt(), TLBLS = new AryInt();
+  private static final AryInt ESRC = new AryInt(), EDST = new AryInt(), ELBL = new AryInt();
+  private static int[] SIDS = new int[16], OFF = new int[16], ISRC = new int[16], ILBL = new int[16], ENEXT = new int[16], LHEAD = new int[16];
+  private static final Partition PART = new Partition();
+  private static boolean minimize( Ary<Type> reaches ) {
+    int n = reaches._len;
+    if( n <= 1 ) return false;
+    // Initial partition: states with equal labels
+    int[] sids = SIDS = scratch(SIDS,n);
+    for( int i=0; i<n; i++ ) {
+      Type t = reaches.at(i);
+      int h = label_hash(t);
+      Integer head = HEADS.get(h);
+      int c = head==null ? -1 : head;
+      while( c != -1 && !label_eq(REPS.at(c),t) ) c = CHAIN.at(c);
+      if( c == -1 ) { c = REPS._len; REPS.push(t); CHAIN.push(head==null ? -1 : head); HEADS.put(h,c); }
+      sids[i] = c;
+    }
+    int nsets = REPS._len;
+    REPS.clear();  CHAIN._len = 0;  HEADS.clear();
+    if( nsets==n ) return false; // Labels alone tell all states apart
+    // All edges between states, then grouped by target
+    for( int i=0; i<n; i++ ) SIDX.put(reaches.at(i),i);
+    for( int i=0; i<n; i++ ) {
+      Type t = reaches.at(i);
+      switch( t._type ) {
+      case TMEMPTR: edge(i,((TypeMemPtr)t)._obj ,0); break;
+      case TFUNPTR: edge(i,((TypeFunPtr)t)._disp,0); break;
+      case TFLD   : edge(i,((TypeFld   )t)._t   ,0); break;
+      case TSTRUCT:
+        for( TypeFld fld : ((TypeStruct)t)._flds.values() ) {
+          Integer lbl = LBLS.get(fld._fld);
+          if( lbl==null ) LBLS.put(fld._fld,lbl=LBLS.size()+1);
+          edge(i,fld,lbl);
         }
-        DUPS.put(t0);
+        break;
+      default: break;
       }
     }
-    DUPS.clear();
-    return ufind(this);
+    int m = ESRC._len, nlbls = LBLS.size()+1;
+    int[] off = OFF = scratch(OFF,n+1), isrc = ISRC = scratch(ISRC,m), ilbl = ILBL = scratch(ILBL,m), enext = ENEXT = scratch(ENEXT,m);
+    Arrays.fill(off,0,n+1,0);
+    for( int e=0; e<m; e++ ) off[EDST._es[e]+1]++;
+    for( int i=0; i<n; i++ ) off[i+1] += off[i];
+    for( int e=0; e<m; e++ ) { int k = off[EDST._es[e]]++; isrc[k] = ESRC._es[e]; ilbl[k] = ELBL._es[e]; }
+    for( int i=n; i>0; i-- ) off[i] = off[i-1]; // Undo the fill-pass bumps
+    off[0] = 0;
+    ESRC._len = EDST._len = ELBL._len = 0;
+    LBLS.clear();
+    SIDX.clear();
+
+    // Refine.  Every initial class starts on the worklist, so splitting off
+    // the smaller half is enough - also for these partial transition functions.
+    Partition P = PART.init(sids,n,nsets);
+    for( int c=0; c<nsets; c++ ) WORK.push(c);
+    int[] lhead = LHEAD = scratch(LHEAD,nlbls);
+    Arrays.fill(lhead,0,nlbls,-1);
+    while( !WORK.isEmpty() ) {
+      int b = WORK.pop();
+      // Bucket edges into 'b' by label; 'b' itself may split below
+      for( int k=P.first(b); k<P.end(b); k++ ) {
+        int q = P.elem(k);
+        for( int e=off[q]; e<off[q+1]; e++ ) {
+          int a = ilbl[e];
+          if( lhead[a] == -1 ) TLBLS.push(a);
+          enext[e] = lhead[a];  lhead[a] = e;
+        }
+      }
+      // Split every class by the states with an 'a' edge into 'b'
+      for( int x=0; x<TLBLS._len; x++ ) {
+        int a = TLBLS._es[x];
+        for( int e=lhead[a]; e!=-1; e=enext[e] ) P.mark(isrc[e]);
+        lhead[a] = -1;
+        P.split(WORK);
+      }
+      TLBLS._len = 0;
+    }
+    if( P.nsets()==n ) return false; // Already minimal
+
+    // Union each class to its lowest-numbered (earliest reached) member
+    int[] rep = sids;           // Reuse; initial sets no longer needed
+    Arrays.fill(rep,0,P.nsets(),n);
+    for( int i=0; i<n; i++ ) rep[P.set(i)] = Math.min(rep[P.set(i)],i);
+    for( int i=0; i<n; i++ )
+      if( rep[P.set(i)] != i )
+        union(reaches.at(i),reaches.at(rep[P.set(i)]));
+    return true;
+  }
+  private static int[] scratch( int[] a, int n ) { return a.length >= n ? a : new int[Math.max(n,a.length<<1)]; }
+  private static void edge( int src, Type dst, int lbl ) {
+    if( dst.interned() ) return; // Part of the label instead
+    ESRC.push(src);  EDST.push(SIDX.get(dst));  ELBL.push(lbl);
   }
 
-  // Set hash after field mod, and re-install in dups
-  private static boolean post_mod(Type t) {
-    t._hash = t.compute_hash();
-    DUPS.put(t);
+  // A state's label: all of it except its not-interned children, which
+  // match any other not-interned child.  Interned children match by identity.
+  private static int label_hash( Type t ) {
+    switch( t._type ) {
+    case TSTRUCT: return t._hash; // Already only names, access and flags
+    case TFLD   : { TypeFld    f = (TypeFld   )t; return f._fld.hashCode()+f._access.hashCode()+f._order+label_hash0(f._t); }
+    case TMEMPTR: { TypeMemPtr p = (TypeMemPtr)t; return TMEMPTR+p._aliases._hash+label_hash0(p._obj); }
+    case TFUNPTR: { TypeFunPtr p = (TypeFunPtr)t; return TFUNPTR+p._fidxs._hash+p._nargs+label_hash0(p._disp); }
+    default: return t._hash;
+    }
+  }
+  private static int label_hash0( Type t ) { return t.interned() ? t._hash : 0; }
+  private static boolean label_eq( Type t0, Type t1 ) {
+    if( t0._type != t1._type ) return false;
+    switch( t0._type ) {
+    case TSTRUCT: return ((TypeStruct)t0).label_eq((TypeStruct)t1);
+    case TFLD   : {
+      TypeFld f0 = (TypeFld)t0, f1 = (TypeFld)t1;
+      return Util.eq(f0._fld,f1._fld) && f0._access==f1._access && f0._order==f1._order && label_eq0(f0._t,f1._t);
+    }
+    case TMEMPTR: {
+      TypeMemPtr p0 = (TypeMemPtr)t0, p1 = (TypeMemPtr)t1;
+      return p0._aliases==p1._aliases && label_eq0(p0._obj,p1._obj);
+    }
+    case TFUNPTR: {
+      TypeFunPtr p0 = (TypeFunPtr)t0, p1 = (TypeFunPtr)t1;
+      return p0._fidxs==p1._fidxs && p0._nargs==p1._nargs && label_eq0(p0._disp,p1._disp);
+    }
+    default: return t0.equals(t1); // Not-interned leaf
+    }
+  }
+  private static boolean label_eq0( Type t0, Type t1 ) { return t0==t1 || (!t0.interned() && !t1.interned()); }
+  private boolean label_eq( TypeStruct t ) {
+    if( !super.equals(t) || _open != t._open || _flds.size() != t._flds.size() ) return false;
+    for( TypeFld fld : _flds.values() ) {
+      TypeFld fld2 = t._flds.get(fld._fld);
+      if( fld2==null || !label_eq0(fld,fld2) ) return false;
+    }
     return true;
   }
 
@@ -855,12 +976,16 @@ public class TypeStruct extends TypeObj<TypeStruct> {
 
   // Reachable collection of Types that form cycles: TypeMemPtr, TypeFunPtr,
   // TypeFld, TypeStruct, and anything not interned reachable from them.
-  public Ary<Type> reachable() {
+  public Ary<Type> reachable() { return reachable(false); }
+  // With 'uf', also follow the UF and update every edge to its leader.
+  private static final IdentMap<Type,Type> VISIT = new IdentMap<>();
+  private Ary<Type> reachable( boolean uf ) {
     Ary<Type> work = new Ary<>(new Type[1],0);
-    push(work, this);
+    push(work, uf ? ufind(this) : this);
     int idx=0;
     while( idx < work._len ) {
       Type t = work.at(idx++);
+      if( uf ) uf_edges(t);
       switch( t._type ) {
       case TMEMPTR:  push(work, ((TypeMemPtr)t)._obj ); break;
       case TFUNPTR:  push(work, ((TypeFunPtr)t)._disp); break;
@@ -869,12 +994,43 @@ public class TypeStruct extends TypeObj<TypeStruct> {
       default: break;
       }
     }
+    VISIT.clear();
     return work;
   }
-  private void push( Ary<Type> work, Type t ) {
-    if( !t.interned() && work.find(t)==-1 )
+  private static void push( Ary<Type> work, Type t ) {
+    if( !t.interned() && VISIT.put(t,t)==null )
       work.push(t);
   }
+  // Point a state's edges at their UF leaders
+  private static boolean kids_interned( Type t ) {
+    switch( t._type ) {
+    case TMEMPTR: return ((TypeMemPtr)t)._obj .interned();
+    case TFUNPTR: return ((TypeFunPtr)t)._disp.interned();
+    case TFLD   : return ((TypeFld   )t)._t   .interned();
+    case TSTRUCT:
+      for( TypeFld fld : ((TypeStruct)t)._flds.values() )
+        if( !fld.interned() ) return false;
+      return true;
+    default: return true;
+    }
+  }
+
+  private static void uf_edges( Type t ) {
+    switch( t._type ) {
+    case TMEMPTR: { TypeMemPtr tm = (TypeMemPtr)t; tm._obj  = ufind(tm._obj ); break; }
+    case TFUNPTR: { TypeFunPtr tf = (TypeFunPtr)t; tf._disp = ufind(tf._disp); break; }
+    case TFLD   : { TypeFld    tf = (TypeFld   )t; tf._t    = ufind(tf._t   ); break; }
+    case TSTRUCT: {
+      TypeStruct ts = (TypeStruct)t;
+      for( TypeFld fld : ts._flds.values() ) {
+        TypeFld fld2 = ufind(fld);
+        if( fld != fld2 ) ts.set_fld(fld2);
+      }
+      break;
+    }
+    default: break;
+    }
+  }
 
   // Walk, looking for not-minimal.  Happens during 'approx' which might
   // require running several rounds of 'replace' to fold everything up.
@@ -1,116 +1,121 @@
 package com.cliffc.aa.type;
 
 import com.cliffc.aa.util.Ary;
-import com.cliffc.aa.util.IHashMap;
+import com.cliffc.aa.util.NonBlockingHashMap;
 import java.util.Arrays;
 
 // Class to make hashcons Type[].
 // Bug to change after interning.
+//
+// One lock-free intern table for all lengths.  Probe keys, free lists and
+// stats are per-thread, so a hit neither allocates nor shares a write.  Free
+// lists are bounded; past the bound arrays are left to the GC.  The intern
+// table is not bounded: interned arrays live in interned TypeTuples forever.
 public class Types {
-  // Lazy expanding list of TypeAry customed to handle various Type[] lengths.
-  private static final Ary<Types> TYPEARY = new Ary<>(new Types[1],0);
-
-  // Make a TypeAry to handle Type[] of length 'len'
-  private static Types tary( int len) {
-    Types tary = TYPEARY.atX(len);
-    return tary==null ? TYPEARY.setX(len,new Types(len)) : tary;
-  }
-  
-  private static final Key K = new Key(null,0);
+  private static final int MAX_FREE = 64; // Free arrays kept, per length per thread
 
   // Wrapper to customize array.equals
   private static class Key {
     Type[] _ts;
     int _hash;
     private Key(Type[] ts, int hash) { _ts=ts; _hash = hash; }
+    // Ordered: a permutation of the same Types hashes differently
     private static int hash( Type[] ts ) {
-      int hash = 0;
-      for( Type t : ts ) hash += t._hash;
-      return hash;
+      int hash = ts.length;
+      for( Type t : ts ) hash = (hash ^ t._hash)*0x9E3779B1;
+      return hash ^ (hash>>>16);
     }
     @Override public int hashCode() { return _hash; }
     @Override public boolean equals(Object o) {
       if( !(o instanceof Key) ) return false;
-      Type[] ts = ((Key)o)._ts;
+      Key k = (Key)o;
+      Type[] ts = k._ts;
       // This series of tests is NOT the same as Arrays.equals(), since it
       // bottoms out in a pointer-equality test instead of 'equals'.
       if( _ts==ts ) return true;
-      if( _ts.length != ts.length ) return false;
+      if( _hash != k._hash || _ts.length != ts.length ) return false;
       for( int i=0; i<ts.length; i++ )
         if( _ts[i]!=ts[i] )
           return false;
       return true;
     }
   }
+  private static final NonBlockingHashMap<Key,Key> INTERN = new NonBlockingHashMap<>();
 
-  private final int _len;       // Length of arrays being handled
-  private final IHashMap _intern = new IHashMap();
-  private final Ary<Type[]> _free = new Ary<>(new Type[1][],0);
-  private Types( int len ) { _len=len; }
+  // Per-thread probe key, free lists by length, and stats
+  private static class Local {
+    final Key _k = new Key(null,0);
+    @SuppressWarnings("unchecked")
+    final Ary<Ary<Type[]>> _frees = new Ary<>(new Ary[1],0);
+    long _probes, _hits, _news, _mallocs, _drops;
+    Ary<Type[]> frees( int len ) {
+      Ary<Type[]> frees = _frees.atX(len);
+      return frees==null ? _frees.setX(len,new Ary<>(new Type[1][],0)) : frees;
+    }
+  }
+  private static final ThreadLocal<Local> LOCAL = ThreadLocal.withInitial(Local::new);
 
-  private Types check() { assert check_();  return this; }
-  private boolean check_() {
-    //for( Object k : _intern.keySet() )
-    //  assert Key.hash(((Key)k)._ts)==((Key)k)._hash; // Basically asserting array not hacked
-    return true;
+  // Return a free Type[]
+  public static Type[] get(int len) {
+    Local l = LOCAL.get();
+    Ary<Type[]> frees = l.frees(len);
+    if( !frees.isEmpty() ) return frees.pop();
+    l._mallocs++;
+    return new Type[len];
   }
-  private boolean check_(Type[] ts) {
-    K._ts=ts;
-    K._hash = Key.hash(ts);
-    Key k2 = _intern.get(K);
-    return k2._ts==ts;
+  public static void free(Type[] ts) { free(LOCAL.get(),ts); }
+  private static void free(Local l, Type[] ts) {
+    Ary<Type[]> frees = l.frees(ts.length);
+    if( frees._len < MAX_FREE ) frees.push(ts);
+    else l._drops++;
   }
 
-
-  // Return a free Type[]
-  private Type[] get() {
-    if( _free.isEmpty() )
-      _free.push(new Type[_len]);
-    return _free.pop();
+  public static Type[] hash_cons(Type[] ts) {
+    Local l = LOCAL.get();
+    l._probes++;
+    Key k = l._k;
+    k._ts = ts;
+    k._hash = Key.hash(ts);
+    Key k2 = INTERN.get(k);
+    k._ts = null;               // Do not hang onto the probe array
+    if( k2 == null ) {          // Miss; racing threads may insert the same array
+      k2 = INTERN.putIfAbsent(k = new Key(ts,k._hash),k);
+      if( k2 == null ) { l._news++; return ts; }
+    } else l._hits++;
+    if( k2._ts!=ts ) free(l,ts);
+    return k2._ts;
   }
 
-  private Type[] hash_cons_(Type[] ts) {
-    K._ts=ts;
-    K._hash = Key.hash(ts);
-    Key k2 = _intern.get(K);
-    if( k2 != null ) {
-      if( k2._ts!=ts ) _free.push(ts);
-      return k2._ts;
-    }
-    _intern.put(new Key(ts,K._hash));
-    return ts;
+  // Interned arrays, and this thread's usage
+  public static String stats() {
+    Local l = LOCAL.get();
+    return "Types: "+INTERN.size()+" interned; probes "+l._probes+", hits "+l._hits+", new "+l._news+
+      "; arrays made "+l._mallocs+", dropped "+l._drops;
   }
 
-  public static Type[] get(int len) { return tary(len).check().get(); }
-  public static void free(Type[] ts) { tary(ts.length)._free.push(ts); }
-  public static Type[] hash_cons(Type[] ts) { return tary(ts.length).check().hash_cons_(ts); }
   // Why is this API not auto-interning?  Because it is used to make cyclic
   // types in TypeStructs, which means the fields will change over
   // time... until the intern point.
   public static Type[] ts(Type t0) {
-    Types t1 = tary(1).check();
-    Type[] ts = t1.get();
+    Type[] ts = get(1);
     ts[0] = t0;
     return ts;
   }
   public static Type[] ts(Type t0, Type t1) {
-    Types t2 = tary(2).check();
-    Type[] ts = t2.get();
+    Type[] ts = get(2);
     ts[0] = t0;
     ts[1] = t1;
     return ts;
   }
   public static Type[] ts(Type t0, Type t1, Type t2) {
-    Types t3 = tary(3).check();
-    Type[] ts = t3.get();
+    Type[] ts = get(3);
     ts[0] = t0;
     ts[1] = t1;
     ts[2] = t2;
     return ts;
   }
   public static Type[] ts(Type t0, Type t1, Type t2, Type t3) {
-    Types t4 = tary(4).check();
-    Type[] ts = t4.get();
+    Type[] ts = get(4);
     ts[0] = t0;
     ts[1] = t1;
     ts[2] = t2;
@@ -118,8 +123,7 @@ public class Types {
     return ts;
   }
   public static Type[] ts(Type t0, Type t1, Type t2, Type t3, Type t4) {
-    Types t5 = tary(5).check();
-    Type[] ts = t5.get();
+    Type[] ts = get(5);
     ts[0] = t0;
     ts[1] = t1;
     ts[2] = t2;
@@ -128,8 +132,7 @@ public class Types {
     return ts;
   }
   public static Type[] ts(Type t0, Type t1, Type t2, Type t3, Type t4, Type t5) {
-    Types t6 = tary(6).check();
-    Type[] ts = t6.get();
+    Type[] ts = get(6);
     ts[0] = t0;
     ts[1] = t1;
     ts[2] = t2;
@@ -142,14 +145,14 @@ public class Types {
   // Result not interned; suitable for direct hacking.
   // Original assumed in-use, not freed.
   public static Type[] clone(Type[] ts) {
-    Type[] ts2 = tary(ts.length).check().get();
+    Type[] ts2 = get(ts.length);
     System.arraycopy(ts,0,ts2,0,ts.length);
     return ts2;
   }
   // Result not interned; suitable for direct hacking.
   // Original assumed in-use, not freed.
   public static Type[] copyOf(Type[] ts, int len) {
-    Type[] ts2 = tary(len).check().get();
+    Type[] ts2 = get(len);
     int minlen = Math.min(len,ts.length);
     System.arraycopy(ts,0,ts2,0,minlen);
     Arrays.fill(ts2,minlen,len,null);
@@ -158,8 +161,6 @@ public class Types {
   public static boolean eq( Type[] ts0, Type[] ts1 ) {
     if( ts0==ts1 ) return true;
     if( ts0==null || ts1==null ) return false;
-    //assert                             tary(ts0.length).check().check_(ts0);
-    //assert ts0.length == ts1.length || tary(ts1.length).check().check_(ts1);
     return false;               // No need for deep check, since interned
   }
 }
@@ -1,9 +1,9 @@
 package com.cliffc.aa.util;
 
 import java.io.Serializable;
-import java.util.concurrent.atomic.AtomicReferenceFieldUpdater; 
-
-import sun.misc.Unsafe;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 /**
  * An auto-resizing table of {@code longs}, supporting low-contention CAS
@@ -97,16 +97,10 @@ public class ConcurrentAutoTable implements Serializable {
   // --- CAT -----------------------------------------------------------------
   private static class CAT implements Serializable {
     
-    // Unsafe crud: get a function which will CAS arrays
-    private static final Unsafe _unsafe = UtilUnsafe.getUnsafe();
-    private static final int _Lbase  = _unsafe.arrayBaseOffset(long[].class);
-    private static final int _Lscale = _unsafe.arrayIndexScale(long[].class);
-    private static long rawIndex(long[] ary, int i) {
-      assert i >= 0 && i < ary.length;
-      return _Lbase + i * _Lscale;
-    }
+    // CAS on long array elements
+    private static final VarHandle _LAH = MethodHandles.arrayElementVarHandle(long[].class);
     private static boolean CAS( long[] A, int idx, long old, long nnn ) {
-      return _unsafe.compareAndSwapLong( A, rawIndex(A,idx), old, nnn );
+      return _LAH.compareAndSet( A, idx, old, nnn );
     }
    
     //volatile long _resizers;    // count of threads attempting a resize
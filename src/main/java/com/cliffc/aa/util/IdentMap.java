@@ -0,0 +1,65 @@
+package com.cliffc.aa.util;
+
+// Single-threaded open-addressed identity map, for compiler scratch tables
+// keyed by Nodes or type variables.  Keys compare with '==' and hash by
+// System.identityHashCode, so a key's own equals/hashCode (e.g. GVN hashing
+// of Nodes, which changes as edges change) play no part.  Linear probe, at
+// most half full.  Filled slots are also listed in insertion order, so
+// clear() costs O(used) and iteration order is deterministic.  No removal.
+@SuppressWarnings("unchecked")
+public class IdentMap<K,V> {
+  private Object[] _ks;         // null for an empty slot
+  private Object[] _vs;
+  private int[] _used;          // Filled slots, in insertion order
+  private int _len;             // Count of filled slots
+
+  public IdentMap() { this(16); }
+  private IdentMap( int cap ) { _ks = new Object[cap]; _vs = new Object[cap]; _used = new int[cap>>1]; }
+
+  public int size() { return _len; }
+  public boolean isEmpty() { return _len==0; }
+
+  private int find( Object k ) {
+    int mask = _ks.length-1;
+    int i = System.identityHashCode(k)&mask;
+    while( _ks[i]!=null && _ks[i]!=k ) i=(i+1)&mask;
+    return i;
+  }
+
+  public V get( K k ) { return (V)_vs[find(k)]; }
+  public boolean containsKey( K k ) { return _ks[find(k)]!=null; }
+
+  // Put, returning the prior value or null
+  public V put( K k, V v ) {
+    assert k!=null;
+    int i = find(k);
+    V old = (V)_vs[i];
+    if( _ks[i]==null ) {
+      if( _len == _used.length ) { grow(); i = find(k); }
+      _ks[i]=k;  _used[_len++]=i;
+    }
+    _vs[i]=v;
+    return old;
+  }
+
+  public void clear() {
+    for( int j=0; j<_len; j++ ) { int i=_used[j]; _ks[i]=null; _vs[i]=null; }
+    _len=0;
+  }
+
+  // Key and value of the j-th insertion, 0 <= j < size()
+  public K key( int j ) { return (K)_ks[_used[j]]; }
+  public V val( int j ) { return (V)_vs[_used[j]]; }
+
+  private void grow() {
+    Object[] ks = _ks, vs = _vs;  int[] used = _used;  int len = _len;
+    _ks = new Object[ks.length<<1];
+    _vs = new Object[vs.length<<1];
+    _used = new int[used.length<<1];
+    _len = 0;
+    for( int j=0; j<len; j++ ) {
+      int i = find(ks[used[j]]);
+      _ks[i]=ks[used[j]];  _vs[i]=vs[used[j]];  _used[_len++]=i;
+    }
+  }
+}
@@ -0,0 +1,73 @@
+package com.cliffc.aa.util;
+
+// Single-threaded open-addressed map from long keys (uids, pairs of uids) to
+// Objects, for compiler scratch tables.  No boxing; linear probe, at most
+// half full.  Filled slots are also listed in insertion order, so clear()
+// costs O(used) not O(capacity) and iteration order is deterministic.  No
+// removal: scratch tables only fill, then clear.  Null values are not allowed.
+@SuppressWarnings("unchecked")
+public class LongMap<V> {
+  private long[] _ks;
+  private Object[] _vs;         // null for an empty slot
+  private int[] _used;          // Filled slots, in insertion order
+  private int _len;             // Count of filled slots
+
+  public LongMap() { this(16); }
+  private LongMap( int cap ) { _ks = new long[cap]; _vs = new Object[cap]; _used = new int[cap>>1]; }
+
+  public int size() { return _len; }
+  public boolean isEmpty() { return _len==0; }
+
+  private static int hash( long k ) {
+    long h = k*0x9E3779B97F4A7C15L; // Fibonacci hashing; uids are dense
+    return (int)(h^(h>>>32));
+  }
+  private int find( long k ) {
+    int mask = _ks.length-1;
+    int i = hash(k)&mask;
+    while( _vs[i]!=null && _ks[i]!=k ) i=(i+1)&mask;
+    return i;
+  }
+
+  public V get( long k ) { return (V)_vs[find(k)]; }
+  public boolean containsKey( long k ) { return _vs[find(k)]!=null; }
+
+  // Put, returning the prior value or null
+  public V put( long k, V v ) {
+    assert v!=null;
+    int i = find(k);
+    V old = (V)_vs[i];
+    if( old==null ) {
+      if( _len == _used.length ) { grow(); i = find(k); }
+      _ks[i]=k;  _used[_len++]=i;
+    }
+    _vs[i]=v;
+    return old;
+  }
+  // Put if absent, returning the prior value or null
+  public V putIfAbsent( long k, V v ) {
+    V old = get(k);
+    return old==null ? put(k,v) : old;
+  }
+
+  public void clear() {
+    for( int j=0; j<_len; j++ ) _vs[_used[j]]=null;
+    _len=0;
+  }
+
+  // Key and value of the j-th insertion, 0 <= j < size()
+  public long key( int j ) { return _ks[_used[j]]; }
+  public V    val( int j ) { return (V)_vs[_used[j]]; }
+
+  private void grow() {
+    long[] ks = _ks;  Object[] vs = _vs;  int[] used = _used;  int len = _len;
+    _ks = new long[ks.length<<1];
+    _vs = new Object[vs.length<<1];
+    _used = new int[used.length<<1];
+    _len = 0;
+    for( int j=0; j<len; j++ ) {
+      int i = find(ks[used[j]]);
+      _ks[i]=ks[used[j]];  _vs[i]=vs[used[j]];  _used[_len++]=i;
+    }
+  }
+}
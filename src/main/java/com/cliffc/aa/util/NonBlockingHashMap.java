@@ -1,10 +1,9 @@
 package com.cliffc.aa.util;
 
-import sun.misc.Unsafe;
-
 import java.io.IOException;
 import java.io.Serializable;
-import java.lang.reflect.Field;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.util.*;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
@@ -78,28 +77,17 @@ public class NonBlockingHashMap<TypeK, TypeV>
 
   private static final int REPROBE_LIMIT=10; // Too many reprobes then force a table-resize
 
-  // --- Bits to allow Unsafe access to arrays
-  private static final Unsafe _unsafe = UtilUnsafe.getUnsafe();
-  private static final int _Obase  = _unsafe.arrayBaseOffset(Object[].class);
-  private static final int _Oscale = _unsafe.arrayIndexScale(Object[].class);
-  private static final int _Olog   = _Oscale==4?2:(_Oscale==8?3:9999);
-  private static long rawIndex(final Object[] ary, final int idx) {
-    assert idx >= 0 && idx < ary.length;
-    // Note the long-math requirement, to handle arrays of more than 2^31 bytes
-    // - or 2^28 - or about 268M - 8-byte pointer elements.
-    return _Obase + ((long)idx << _Olog);
-  }
-
-  // --- Setup to use Unsafe
-  private static final long _kvs_offset;
+  // --- VarHandles for CAS on array elements and the _kvs field.  CAS is
+  // compareAndSet: volatile semantics, as the Unsafe CAS it replaces had, and
+  // the state machine relies on.  Plain reads stay plain array reads.
+  private static final VarHandle _OAH = MethodHandles.arrayElementVarHandle(Object[].class);
+  private static final VarHandle _KVS;
   static {                      // <clinit>
-    Field f = null;
-    try { f = NonBlockingHashMap.class.getDeclaredField("_kvs"); }
-    catch( java.lang.NoSuchFieldException e ) { throw new RuntimeException(e); }
-    _kvs_offset = _unsafe.objectFieldOffset(f);
+    try { _KVS = MethodHandles.lookup().findVarHandle(NonBlockingHashMap.class,"_kvs",Object[].class); }
+    catch( ReflectiveOperationException e ) { throw new RuntimeException(e); }
   }
   private boolean CAS_kvs( final Object[] oldkvs, final Object[] newkvs ) {
-    return _unsafe.compareAndSwapObject(this, _kvs_offset, oldkvs, newkvs );
+    return _KVS.compareAndSet(this, oldkvs, newkvs );
   }
 
   // --- Adding a 'prime' bit onto Values via wrapping with a junk wrapper class
@@ -172,10 +160,10 @@ public class NonBlockingHashMap<TypeK, TypeV>
   private static Object key( Object[] kvs, int idx) { return kvs[(idx<<1)+2]; }
   private static Object val( Object[] kvs, int idx) { return kvs[(idx<<1)+3]; }
   private static boolean CAS_key( Object[] kvs, int idx, Object old, Object key ) {
-    return _unsafe.compareAndSwapObject( kvs, rawIndex(kvs,(idx<<1)+2), old, key );
+    return _OAH.compareAndSet( kvs, (idx<<1)+2, old, key );
   }
   private static boolean CAS_val( Object[] kvs, int idx, Object old, Object val ) {
-    return _unsafe.compareAndSwapObject( kvs, rawIndex(kvs,(idx<<1)+3), old, val );
+    return _OAH.compareAndSet( kvs, (idx<<1)+3, old, val );
   }
 
 
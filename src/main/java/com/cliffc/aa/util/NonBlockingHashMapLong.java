@@ -15,14 +15,13 @@ package com.cliffc.aa.util;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.util.*;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
-import static com.cliffc.aa.util.UtilUnsafe.UNSAFE;
-import static com.cliffc.aa.util.UtilUnsafe.fieldOffset;
-
 
 /**
  * A lock-free alternate implementation of {@link java.util.concurrent.ConcurrentHashMap}
@@ -94,30 +93,22 @@ public class NonBlockingHashMapLong<TypeV>
 
   private static final int REPROBE_LIMIT=10; // Too many reprobes then force a table-resize
 
-  // --- Bits to allow Unsafe access to arrays
-  private static final int _Obase  = UNSAFE.arrayBaseOffset(Object[].class);
-  private static final int _Oscale = UNSAFE.arrayIndexScale(Object[].class);
-  private static long rawIndex(final Object[] ary, final int idx) {
-    assert idx >= 0 && idx < ary.length;
-    // Note the long-math requirement, to handle arrays of more than 2^31 bytes
-    // - or 2^28 - or about 268M - 8-byte pointer elements.
-    return _Obase + ((long)idx * _Oscale);
-  }
-  private static final int _Lbase  = UNSAFE.arrayBaseOffset(long[].class);
-  private static final int _Lscale = UNSAFE.arrayIndexScale(long[].class);
-  private static long rawIndex(final long[] ary, final int idx) {
-    assert idx >= 0 && idx < ary.length;
-    // Note the long-math requirement, to handle arrays of more than 2^31 bytes
-    // - or 2^28 - or about 268M - 8-byte pointer elements.
-    return _Lbase + ((long)idx * _Lscale);
+  // --- VarHandles for CAS on array elements and the _chm and _val_1 fields.
+  // CAS is compareAndSet: volatile semantics, as the Unsafe CAS it replaces
+  // had.  Plain reads stay plain array reads.
+  private static final VarHandle _OAH = MethodHandles.arrayElementVarHandle(Object[].class);
+  private static final VarHandle _LAH = MethodHandles.arrayElementVarHandle(  long[].class);
+  private static final VarHandle _CHM, _VAL_1;
+  static {                      // <clinit>
+    try {
+      MethodHandles.Lookup l = MethodHandles.lookup();
+      _CHM   = l.findVarHandle(NonBlockingHashMapLong.class,"_chm"  ,CHM.class);
+      _VAL_1 = l.findVarHandle(NonBlockingHashMapLong.class,"_val_1",Object.class);
+    } catch( ReflectiveOperationException e ) { throw new RuntimeException(e); }
   }
 
-  // --- Bits to allow Unsafe CAS'ing of the CHM field
-  private static final long _chm_offset = fieldOffset(NonBlockingHashMapLong.class, "_chm");
-  private static final long _val_1_offset = fieldOffset(NonBlockingHashMapLong.class, "_val_1");
-
-  private boolean CAS( final long offset, final Object old, final Object nnn ) {
-    return UNSAFE.compareAndSwapObject(this, offset, old, nnn );
+  private boolean CAS( final VarHandle fld, final Object old, final Object nnn ) {
+    return fld.compareAndSet(this, old, nnn );
   }
 
   // --- Adding a 'prime' bit onto Values via wrapping with a junk wrapper class
@@ -317,7 +308,7 @@ public class NonBlockingHashMapLong<TypeV>
           curVal == oldVal ||       // No instant match already?
           (oldVal == MATCH_ANY && curVal != TOMBSTONE) ||
           oldVal.equals(curVal) ) { // Expensive equals check
-        if( !CAS(_val_1_offset,curVal,newVal) ) // One shot CAS update attempt
+        if( !CAS(_VAL_1,curVal,newVal) ) // One shot CAS update attempt
           curVal = _val_1;                      // Failed; get failing witness
       }
       return curVal == TOMBSTONE ? null : (TypeV)curVal; // Return the last value present
@@ -331,13 +322,13 @@ public class NonBlockingHashMapLong<TypeV>
   /** Removes all of the mappings from this map. */
   public void clear() {         // Smack a new empty table down
     CHM newchm = new CHM(this,new ConcurrentAutoTable(),MIN_SIZE_LOG);
-    while( !CAS(_chm_offset,_chm,newchm) ) { /*Spin until the clear works*/}
-    CAS(_val_1_offset,_val_1,TOMBSTONE);
+    while( !CAS(_CHM,_chm,newchm) ) { /*Spin until the clear works*/}
+    CAS(_VAL_1,_val_1,TOMBSTONE);
   }
   // Non-atomic clear, preserving existing large arrays
   public void clear(boolean large) {         // Smack a new empty table down
     _chm.clear();
-    CAS(_val_1_offset,_val_1,TOMBSTONE);
+    CAS(_VAL_1,_val_1,TOMBSTONE);
   }
 
   /** Returns <tt>true</tt> if this Map maps one or more keys to the specified
@@ -477,10 +468,10 @@ public class NonBlockingHashMapLong<TypeV>
     // --- key,val -------------------------------------------------------------
     // Access K,V for a given idx
     private boolean CAS_key( int idx, long   old, long   key ) {
-      return UNSAFE.compareAndSwapLong  ( _keys, rawIndex(_keys, idx), old, key );
+      return _LAH.compareAndSet( _keys, idx, old, key );
     }
     private boolean CAS_val( int idx, Object old, Object val ) {
-      return UNSAFE.compareAndSwapObject( _vals, rawIndex(_vals, idx), old, val );
+      return _OAH.compareAndSet( _vals, idx, old, val );
     }
 
     final long   [] _keys;
@@ -953,7 +944,7 @@ public class NonBlockingHashMapLong<TypeV>
       if( nowDone == oldlen &&   // Ready to promote this table?
           _nbhml._chm == this && // Looking at the top-level table?
           // Attempt to promote
-          _nbhml.CAS(_chm_offset,this,_newchm) ) {
+          _nbhml.CAS(_CHM,this,_newchm) ) {
         _nbhml._last_resize_milli = System.currentTimeMillis();  // Record resize time for next check
       }
     }
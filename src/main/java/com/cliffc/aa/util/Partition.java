@@ -0,0 +1,68 @@
+package com.cliffc.aa.util;
+
+import java.util.Arrays;
+
+// Refinable partition of the ints 0..n-1, for Hopcroft-style DFA
+// minimization.  Elements live in one array, grouped by set; each set is the
+// range [_first,_end).  Marking an element swaps it to the front of its set;
+// split() then cuts every touched set into its marked and unmarked parts.
+// Both mark and split cost O(1) per marked element, never O(set size).  The
+// new set is always the smaller part - so a caller that puts every new set on
+// its worklist handles each element O(log n) times.
+public class Partition {
+  private int[] _elems=new int[0], _loc=new int[0], _sidx=new int[0]; // Elements grouped by set; index of each element; set of each element
+  private int[] _first=new int[0], _end=new int[0], _mid=new int[0];  // Per set: start, end, end of marked prefix
+  private int _nsets;
+  private final AryInt _touched = new AryInt(); // Sets with marked elements
+
+  // (Re)start with elements 0 to n-1 in the initial sets sids[0..n),
+  // numbered 0 to nsets-1, none empty.  Storage is kept for reuse.
+  public Partition init( int[] sids, int n, int nsets ) {
+    if( _elems.length < n ) {
+      int len = Math.max(n,_elems.length<<1);
+      _elems = new int[len];  _loc = new int[len];  _sidx = new int[len];
+      _first = new int[len];  _end = new int[len];  _mid = new int[len];
+    }
+    _nsets = nsets;
+    Arrays.fill(_end,0,nsets,0);
+    for( int e=0; e<n; e++ ) _end[sids[e]]++; // Count per set
+    for( int s=0, x=0; s<nsets; s++ ) { int c=_end[s]; _first[s]=_mid[s]=_end[s]=x; x+=c; }
+    for( int e=0; e<n; e++ ) {                // Place, keeping element order within a set
+      int s = sids[e], k = _end[s]++;
+      _elems[k]=e;  _loc[e]=k;  _sidx[e]=s;
+    }
+    return this;
+  }
+
+  public int nsets() { return _nsets; }
+  public int set  ( int e ) { return _sidx[e]; }
+  public int first( int s ) { return _first[s]; }
+  public int end  ( int s ) { return _end[s]; }
+  public int elem ( int k ) { return _elems[k]; }
+
+  public void mark( int e ) {
+    int s = _sidx[e], i = _loc[e], j = _mid[s];
+    if( i < j ) return;         // Already marked
+    if( j == _first[s] ) _touched.push(s);
+    _elems[i] = _elems[j];  _loc[_elems[i]] = i;
+    _elems[j] = e;          _loc[e] = j;
+    _mid[s] = j+1;
+  }
+
+  // Split all touched sets; push each new set on 'adds'
+  public void split( AryInt adds ) {
+    for( int i=0; i<_touched._len; i++ ) {
+      int s = _touched._es[i];
+      int f = _first[s], m = _mid[s], e = _end[s];
+      _mid[s] = f;
+      if( m == e ) continue;    // All marked, no split
+      int z = _nsets++;
+      if( m-f <= e-m ) { _first[z]=f; _end[z]=m; _first[s]=m; } // Marked part is smaller
+      else             { _first[z]=m; _end[z]=e; _end  [s]=m; } // Unmarked part is smaller
+      _mid[s] = _first[s];  _mid[z] = _first[z];
+      for( int k=_first[z]; k<_end[z]; k++ ) _sidx[_elems[k]] = z;
+      adds.push(z);
+    }
+    _touched._len = 0;
+  }
+}
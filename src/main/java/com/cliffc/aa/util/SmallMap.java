@@ -0,0 +1,117 @@
+package com.cliffc.aa.util;
+
+import java.util.HashMap;
+import java.util.Iterator;
+
+// Small single-threaded String-keyed map, for type-variable structure fields.
+// Nearly all such maps hold 1-4 keys, so keys and values sit in parallel
+// arrays and lookup is a linear scan (pointer-equals first, most keys are
+// literals).  Beyond SMALL keys a side HashMap indexes key -> slot; the arrays
+// remain the storage.  Removal leaves a tombstone, and adds append, so
+// iterating while the map changes is weakly consistent (like NBHM) instead of
+// failing.  Tombstones are squeezed out when the arrays fill.  Iteration order
+// is deterministic, newest key first.
+public class SmallMap<V> implements Cloneable {
+  private static final int SMALL=8;
+  private String[] _ks;         // Keys, null for tombstones
+  private Object[] _vs;         // Values
+  private int _len;             // Slots used, including tombstones
+  private int _cnt;             // Live keys
+  private HashMap<String,Integer> _idx; // Key to slot, only when large
+
+  public SmallMap() { this(2); }
+  private SmallMap( int cap ) { _ks = new String[cap]; _vs = new Object[cap]; }
+  public SmallMap( String k, V v ) { this(2); put(k,v); }
+
+  public int size() { return _cnt; }
+  public boolean isEmpty() { return _cnt==0; }
+
+  private int find( String k ) {
+    if( _idx!=null ) { Integer i = _idx.get(k); return i==null ? -1 : i; }
+    for( int i=0; i<_len; i++ ) if( _ks[i]==k ) return i;
+    for( int i=0; i<_len; i++ ) if( _ks[i]!=null && _ks[i].equals(k) ) return i;
+    return -1;
+  }
+  @SuppressWarnings("unchecked")
+  public V get( String k ) { int i = find(k); return i==-1 ? null : (V)_vs[i]; }
+  public boolean containsKey( String k ) { return find(k)!=-1; }
+
+  @SuppressWarnings("unchecked")
+  public V put( String k, V v ) {
+    int i = find(k);
+    if( i!=-1 ) { V old = (V)_vs[i]; _vs[i]=v; return old; }
+    if( _len==_ks.length ) grow();
+    _ks[_len]=k; _vs[_len]=v;
+    if( _idx!=null ) _idx.put(k,_len);
+    _len++; _cnt++;
+    return null;
+  }
+
+  @SuppressWarnings("unchecked")
+  public V remove( String k ) {
+    int i = find(k);
+    if( i==-1 ) return null;
+    V old = (V)_vs[i];
+    _ks[i]=null; _vs[i]=null;   // Tombstone
+    if( _idx!=null ) _idx.remove(k);
+    _cnt--;
+    return old;
+  }
+
+  // Out of room: copy live slots to fresh arrays (live iterators keep the old
+  // ones), doubling if still over half full.  Rebuild the index if large.
+  private void grow() {
+    int cap = _cnt > (_ks.length>>1) ? _ks.length<<1 : _ks.length;
+    String[] ks = new String[cap];
+    Object[] vs = new Object[cap];
+    int j=0;
+    for( int i=0; i<_len; i++ )
+      if( _ks[i]!=null ) { ks[j]=_ks[i]; vs[j++]=_vs[i]; }
+    _ks=ks; _vs=vs; _len=j;
+    _idx = null;
+    if( cap > SMALL ) {
+      _idx = new HashMap<>();
+      for( int i=0; i<_len; i++ ) _idx.put(_ks[i],i);
+    }
+  }
+
+  // Shallow copy
+  @SuppressWarnings("unchecked")
+  @Override public SmallMap<V> clone() {
+    try {
+      SmallMap<V> m = (SmallMap<V>)super.clone();
+      m._ks = _ks.clone();
+      m._vs = _vs.clone();
+      if( _idx!=null ) m._idx = new HashMap<>(_idx);
+      return m;
+    } catch( CloneNotSupportedException e ) { throw new RuntimeException(e); }
+  }
+
+  public Iterable<String> keySet() { return () -> new Iter<>(true ); }
+  public Iterable<V>      values() { return () -> new Iter<>(false); }
+  // Walks the live slots newest-first, over the arrays as of creation: keys
+  // added during iteration are not seen, keys removed are skipped until a
+  // grow.  Newest-first visits a function's "ret" before its arguments, the
+  // order unification and printing have always had.
+  private class Iter<X> implements Iterator<X> {
+    private final String[] _iks = _ks;
+    private final Object[] _ivs = _vs;
+    private final boolean _keys;
+    private int _i = _len-1;
+    Iter( boolean keys ) { _keys=keys; }
+    @Override public boolean hasNext() {
+      while( _i>=0 && _iks[_i]==null ) _i--;
+      return _i>=0;
+    }
+    @SuppressWarnings("unchecked")
+    @Override public X next() { X x = (X)(_keys ? _iks[_i] : _ivs[_i]); _i--; return x; }
+  }
+
+  @Override public String toString() {
+    SB sb = new SB().p('{');
+    for( int i=_len-1; i>=0; i-- )
+      if( _ks[i]!=null ) sb.p(_ks[i]).p('=').p(String.valueOf(_vs[i])).p(',');
+    if( _cnt>0 ) sb.unchar();
+    return sb.p('}').toString();
+  }
+}
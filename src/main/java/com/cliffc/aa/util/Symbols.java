@@ -0,0 +1,50 @@
+package com.cliffc.aa.util;
+
+// Symbol table from ASCII byte ranges to interned Strings.  A lookup hashes
+// and compares the bytes in place, so finding a known symbol allocates
+// nothing; only a first sighting makes (and interns) a String.  Open
+// addressed, linear probe, kept at most half full.  Single-threaded.
+public class Symbols {
+  private String[] _syms = new String[256];
+  private int[] _hashes = new int[256];
+  private int _cnt;
+
+  public String make( byte[] buf, int x, int len ) {
+    int h = hash(buf,x,len);
+    int mask = _syms.length-1;
+    for( int i=h&mask; ; i=(i+1)&mask ) {
+      String s = _syms[i];
+      if( s==null ) {           // Miss; first sighting
+        s = new String(buf,x,len).intern();
+        _syms[i]=s;  _hashes[i]=h;
+        if( ++_cnt*2 > _syms.length ) grow();
+        return s;
+      }
+      if( _hashes[i]==h && eq(s,buf,x,len) ) return s;
+    }
+  }
+
+  private static int hash( byte[] buf, int x, int len ) {
+    int h=0;
+    for( int i=0; i<len; i++ ) h = h*31+buf[x+i];
+    return h^(h>>>16);
+  }
+  private static boolean eq( String s, byte[] buf, int x, int len ) {
+    if( s.length()!=len ) return false;
+    for( int i=0; i<len; i++ ) if( s.charAt(i)!=buf[x+i] ) return false;
+    return true;
+  }
+
+  private void grow() {
+    String[] syms = _syms;  int[] hashes = _hashes;
+    _syms = new String[syms.length<<1];
+    _hashes = new int[syms.length<<1];
+    int mask = _syms.length-1;
+    for( int j=0; j<syms.length; j++ )
+      if( syms[j]!=null ) {
+        int i=hashes[j]&mask;
+        while( _syms[i]!=null ) i=(i+1)&mask;
+        _syms[i]=syms[j];  _hashes[i]=hashes[j];
+      }
+  }
+}
@@ -15,7 +15,7 @@ public class TestLive {
     gvn._opt_mode = GVNGCM.Mode.PesiNoCG;
 
     // Liveness is a backwards flow.  Scope always demands all return results.
-    ScopeNode scope = new ScopeNode(null,false);
+    ScopeNode scope = new ScopeNode(0,false);
 
     Node fullmem = new ConNode<>(TypeMem.FULL);
     fullmem._val = TypeMem.FULL;
@@ -68,7 +68,7 @@ public class TestLive {
     ptr.xval();
 
     // Use the object for scope exit
-    ScopeNode scope = new ScopeNode(null,false);
+    ScopeNode scope = new ScopeNode(0,false);
     scope.set_mem(mem);
     scope.set_rez(ptr);
     scope._val = Type.ALL;
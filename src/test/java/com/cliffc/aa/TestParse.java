@@ -1,9 +1,11 @@
 package com.cliffc.aa;
 
+import com.cliffc.aa.node.ConNode;
 import com.cliffc.aa.node.FunNode;
 import com.cliffc.aa.tvar.TV2;
 import com.cliffc.aa.type.*;
 import com.cliffc.aa.util.SB;
+import com.cliffc.aa.util.SmallMap;
 import com.cliffc.aa.util.VBitSet;
 import org.junit.Ignore;
 import org.junit.Test;
@@ -742,6 +744,118 @@ public class TestParse {
     // ary.{e -> f(e)}.{e0 e1 -> f(e0,e1) } // map/reduce over array elements
   }
 
+  // Allocations that do not escape have their Loads and Stores folded
+  @Test public void testEscape() {
+    test("p=@{a:=1}; noinline_f={->3}; noinline_f(); p.a", TypeInt.con(1)); // Not passed to the call
+    test("p=@{a:=1}; p.a:=2; noinline_f={->3}; noinline_f(); p.a", TypeInt.con(2));
+    test("p=@{a:=1}; f={q->q.a:=2}; f(p); p.a", TypeInt.con(2)); // Escapes through a call
+    test("p=@{a:=1}; q=@{b=p}; q.b.a:=3; p.a", TypeInt.con(3)); // Escapes through a store
+  }
+
+  // Size-based inlining is charged to a per-compilation growth budget
+  @Test public void testInlineBudget() {
+    String prog = "y=3; cheap={x -> x+1}; costly={x -> x+y}; cheap(2)+cheap(3)+costly(2)+costly(3)";
+    test(prog,TypeInt.con(3+4+5+6));
+    assertEquals(2*2+2*5,FunNode.INLINE_GROWTH); // Both call sites of both
+    // Charge the whole budget after the per-compile reset: same answer,
+    // without size-inlining.
+    Env top = Env.top_scope();
+    FunNode.INLINE_GROWTH = FunNode.INLINE_GROWTH_BUDGET;
+    try( TypeEnv te = Exec.open(Env.file_scope(top),"args",prog) ) {
+      assertNull(te._errs);
+      assertEquals(TypeInt.con(3+4+5+6),te._t);
+    }
+    assertEquals(FunNode.INLINE_GROWTH_BUDGET,FunNode.INLINE_GROWTH);
+  }
+
+  // Struct arguments from several call sites make ideal_inline compute a
+  // pointer type-split.  type_special rejects it (the split formals are not
+  // isa the signature), so no clone reaches the type-specialization cache.
+  @Test public void testTypeSplitRequests() {
+    test("f = { p -> p.x*2 }; a = f(@{x=1}); b = f(@{x=2}); c = f(@{x=3}); a+b+c",TypeInt.con(12));
+    test("f = { p q -> p.x+q.x }; f(@{x=1},@{x=2}) + f(@{x=3},@{x=4})",TypeInt.con(10));
+  }
+
+  // Nongen scopes are numbered in preorder, and the numbering restarts with
+  // each compile.  A TV2 is bound at the outermost scope it occurs in.
+  @Test public void testNongenLevels() {
+    Env file = Env.file_scope(Env.top_scope());
+    Env.VStack f = file._nongen;
+    file.nongen_push(file);  Env.VStack a = file._nongen;  file.nongen_pop(null);
+    file.nongen_push(file);  Env.VStack b = file._nongen;
+    file.nongen_push(file);  Env.VStack c = file._nongen;  file.nongen_pop(null);
+    file.nongen_pop(null);
+    assertTrue(f.encloses(a) && f.encloses(b) && f.encloses(c) && b.encloses(c));
+    assertTrue(!a.encloses(b) && !a.encloses(c) && !b.encloses(a) && !c.encloses(b));
+    assertTrue(Env.VStack.lca(b,c)==b);
+    assertTrue(Env.VStack.lca(a,c)==f); // Siblings widen to the shared parent
+
+    TV2 ta = TV2.make_leaf(null,"test"), tc = TV2.make_leaf(null,"test");
+    a.add_var("ta",ta);
+    c.add_var("tc",tc);
+    assertTrue( ta.nongen_in(a) && !ta.nongen_in(b) && !ta.nongen_in(c));
+    assertTrue(!tc.nongen_in(a) && !tc.nongen_in(b) &&  tc.nongen_in(c));
+    // After a union, bound in both, but still generic in 'b' where neither
+    // was bound: the level alone (their shared parent) would say otherwise.
+    ta.unify(tc,Env.GVN._work_flow);
+    TV2 tv = ta.find();
+    assertTrue(tv.nongen_in(a) && !tv.nongen_in(b) && tv.nongen_in(c));
+    // A structure over 'tv' is polymorphic in 'b': a fresh instance there gets
+    // a new var, while in 'a' it keeps 'tv'.
+    ConNode<Type> con = new ConNode<>(Type.XNIL);
+    TV2 ary = TV2.make("Ary",con,"test",new SmallMap<>("elem",tv));
+    TV2 inb = TV2.make_leaf(con,"test"), ina = TV2.make_leaf(con,"test");
+    ary.fresh_unify(inb,b,Env.GVN._work_flow);
+    ary.fresh_unify(ina,a,Env.GVN._work_flow);
+    assertNotSame(tv,inb.find().get("elem").find());
+    assertSame   (tv,ina.find().get("elem").find());
+    con.kill();
+    file.close();
+
+    // The next compile numbers its scopes from the start again
+    Env file2 = Env.file_scope(Env.top_scope());
+    assertEquals(f.hashCode(),file2._nongen.hashCode());
+    file2.close();
+  }
+
+  // Renders must track unification below the printed root
+  @Test public void testRenderAfterUnify() {
+    Env file = Env.file_scope(Env.top_scope());
+    ConNode<Type> con = new ConNode<>(Type.XNIL);
+    TV2 leaf = TV2.make_leaf(con,"test");
+    TV2 ary = TV2.make("Ary",con,"test",new SmallMap<>("elem",leaf));
+    assertEquals("(Ary elem:A)",ary.p());
+    leaf.unify(TV2.make_base(con,TypeInt.INT64,"test"),Env.GVN._work_flow);
+    assertEquals("(Ary elem:int64)",ary.p());
+    con.kill();
+    file.close();
+
+    // Interned Types render the same from the side table as fresh
+    Type t = TypeStruct.tupsD(TypeInt.INT64,TypeFlt.FLT64);
+    String s = t.toString();
+    assertSame(s,t.toString());
+    assertEquals(t.str(new SB(),new VBitSet(),null,true).toString(),s);
+  }
+
+  // The second Combo pass is incremental; check it against a full re-run.
+  // Both start from the type-vars of the first pass, so this also checks that
+  // keeping them loses nothing the full second pass would find.
+  @Test public void testIncremental() {
+    Combo.CHECK = true;
+    try {
+      test_incr("p=math_rand(1)?0:@{x=1}; p ? p.x : 0", TypeInt.BOOL);
+      test_incr("cnt:=0; incA={cnt++}; incA();incA()+cnt",TypeInt.con(1+2));
+      test_incr("tmp = {cnt:=0;({cnt++},{cnt})}();incA=tmp.0;getA=tmp.1;incA();incA()+getA()",TypeInt.con(1+2));
+      test_incr("x=@{a:=1;         b= {a=a+1;b=0}}; x.         b(); x.a",TypeInt.con(2));
+      test_incr("x=3; mul2={x -> x*2}; mul2(2.1)+mul2(x)", TypeFlt.con(2.1*2.0+3*2)); // Polymorphic use
+    } finally { Combo.CHECK = false; Combo.MISMATCHES = null; }
+  }
+  private static void test_incr( String program, Type expected ) {
+    test(program,expected);
+    assertNotNull(Combo.MISMATCHES); // Second pass was incremental
+    assertEquals("",String.join("\n",Combo.MISMATCHES));
+  }
+
 
   // Combined H-M and GCP Typing
   @Ignore
@@ -1022,6 +1136,7 @@ HashTable = {@{
     assertTrue(te._errs != null && te._errs.size()>=1);
     String cursor = new String(new char[cur_off]).replace('\0', ' ');
     String err2 = new SB().p("args:1:").p(err).nl().p(program).nl().p(cursor).p('^').nl().toString();
+    assertNull(SrcLoc.src(te._errs.get(0)._loc)); // Compile dropped the source; the error pinned it
     assertEquals(err2,strip_alias_numbers(te._errs.get(0).toString()));
   }
   private static String strip_alias_numbers( String err ) {
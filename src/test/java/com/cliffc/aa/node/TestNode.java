@@ -229,15 +229,15 @@ public class TestNode {
     test1monotonic(new   CastNode(_ins[0],_ins[1],TypeMemPtr.STRPTR));
     test1monotonic(new   CastNode(_ins[0],_ins[1],TypeMemPtr.STR0));
     test1monotonic(new  CProjNode(_ins[0],0));
-    test1monotonic(new    ErrNode(_ins[0],null,"\nerr\n"));
+    test1monotonic(new    ErrNode(_ins[0],0,"\nerr\n"));
     test1monotonic(new    FunNode(TypeStruct.INT64));
     test1monotonic(new FunPtrNode("anon",ret,null));
     test1monotonic(new FP2DispNode(_ins[1])); // Only takes in a TFP
     test1monotonic(new     IfNode(_ins[0],_ins[1]));
     for( NewNode.NewPrimNode prim : NewNode.NewPrimNode.INTRINSICS() )
       test1monotonic_intrinsic(prim);
-    test1monotonic(new IntrinsicNode(tname,null,null,mem,_ins[2]));
-    test1monotonic(new   LoadNode(_ins[1],_ins[2],"x",null));
+    test1monotonic(new IntrinsicNode(tname,0,null,mem,_ins[2]));
+    test1monotonic(new   LoadNode(_ins[1],_ins[2],"x",0));
     NewObjNode nnn1 = new NewObjNode(false,TypeMemPtr.DISPLAY,Node.con(Type.NIL));
     set_type(1,Type.SCALAR);  nnn1.create_active("x",_ins[1],Access.Final);
     set_type(2,Type.SCALAR);  nnn1.create_active("y",_ins[2],Access.Final);
@@ -248,21 +248,21 @@ public class TestNode {
     nnn2.sets(tname);
     test1monotonic(nnn2);
     ((ConNode<Type>)_ins[1])._t = Type.SCALAR; // ParmNode reads this for _alltype
-    test1monotonic(new   ParmNode( 1, "x",_ins[0],(ConNode)_ins[1],null).add_def(_ins[2]));
-    test1monotonic(new    PhiNode(Type.SCALAR,null,_ins[0],_ins[1],_ins[2]));
+    test1monotonic(new   ParmNode( 1, "x",_ins[0],(ConNode)_ins[1],0).add_def(_ins[2]));
+    test1monotonic(new    PhiNode(Type.SCALAR,0,_ins[0],_ins[1],_ins[2]));
     for( PrimNode prim : PrimNode.PRIMS() )
       test1monotonic_prim(prim,mem);
     test1monotonic(new   ProjNode(1, _ins[0]));
     test1monotonic(new RegionNode(null,_ins[1],_ins[2]));
     test1monotonic(new    RetNode(_ins[0],mem,_ins[1],_ins[2],fun_plus)); // ctl,mem,val,rpc,fun
-    test1monotonic(new  StoreNode(_ins[1],_ins[2],_ins[3],Access.RW   ,"x",null));
-    test1monotonic(new  StoreNode(_ins[1],_ins[2],_ins[3],Access.Final,"x",null));
+    test1monotonic(new  StoreNode(_ins[1],_ins[2],_ins[3],Access.RW   ,"x",0));
+    test1monotonic(new  StoreNode(_ins[1],_ins[2],_ins[3],Access.Final,"x",0));
     //                  ScopeNode has no inputs, and value() call is monotonic
-    test1monotonic(new AssertNode(_ins[1],_ins[2],TypeInt.FALSE    ,null, null));
-    test1monotonic(new AssertNode(_ins[1],_ins[2],TypeMemPtr.STRPTR,null, null));
-    test1monotonic(new AssertNode(_ins[1],_ins[2],TypeFlt.FLT64    ,null, null));
-    _gvn._opt_mode=GVNGCM.Mode.PesiNoCG;  test1monotonic(new UnresolvedNode(null,_ins[1],_ins[2]));  _gvn._opt_mode=GVNGCM.Mode.Parse;
-    _gvn._opt_mode=GVNGCM.Mode.PesiCG  ;  test1monotonic(new UnresolvedNode(null,_ins[1],_ins[2]));  _gvn._opt_mode=GVNGCM.Mode.Parse;
+    test1monotonic(new AssertNode(_ins[1],_ins[2],TypeInt.FALSE    ,0, null));
+    test1monotonic(new AssertNode(_ins[1],_ins[2],TypeMemPtr.STRPTR,0, null));
+    test1monotonic(new AssertNode(_ins[1],_ins[2],TypeFlt.FLT64    ,0, null));
+    _gvn._opt_mode=GVNGCM.Mode.PesiNoCG;  test1monotonic(new UnresolvedNode(0,_ins[1],_ins[2]));  _gvn._opt_mode=GVNGCM.Mode.Parse;
+    _gvn._opt_mode=GVNGCM.Mode.PesiCG  ;  test1monotonic(new UnresolvedNode(0,_ins[1],_ins[2]));  _gvn._opt_mode=GVNGCM.Mode.Parse;
 
     assertEquals(0,_errs);
   }
@@ -48,7 +48,7 @@ public class TestNodeSmall {
     FunPtrNode aint = (FunPtrNode)uadd.in(1);
     FunPtrNode astr = (FunPtrNode)uadd.in(2);
     // Make a flt/int combo, drops off string.
-    UnresolvedNode anum = (UnresolvedNode)gvn.xform(new UnresolvedNode(null,aflt,aint));
+    UnresolvedNode anum = (UnresolvedNode)gvn.xform(new UnresolvedNode(0,aflt,aint));
 
     // All nodes have this property: START >= {ALL.dual(),value(START)} >= value(ALL.dual()) >= value(ALL) >= ALL
     // Holds for both ITER and GCP.
@@ -291,7 +291,7 @@ public class TestNodeSmall {
     TypeFunPtr tmul1 = v(fp_mul,gvn), tmul1X = tmul1.dual();
     TypeFunPtr tadd1 = v(fp_add,gvn), tadd1X = tadd1.dual();
 
-    UnresolvedNode anum = gvn.init(new UnresolvedNode(null,aflt,aint));
+    UnresolvedNode anum = gvn.init(new UnresolvedNode(0,aflt,aint));
     TypeFunPtr tnum1 = v(anum,gvn), tnum1X = tnum1.dual();
     TypeFunPtr tflt1 = v(aflt,gvn), tflt1X = tflt1.dual();
     TypeFunPtr tint1 = v(aint,gvn), tint1X = tint1.dual();
@@ -519,9 +519,9 @@ public class TestNodeSmall {
     gvn.init(fun.add_def(ctl).add_def(ctl)).unkeep();
     // Parms for the Fun.  Note that the default type is "weak" because the
     // file-level display can not yet know about "fact".
-    ParmNode parm_mem = new ParmNode(MEM_IDX," mem",fun,mem,null);
+    ParmNode parm_mem = new ParmNode(MEM_IDX," mem",fun,mem,0);
     gvn.xform(parm_mem.add_def(dsp_file_obj));
-    ParmNode parm_dsp = new ParmNode(DSP_IDX,"^"  ,fun,Type.SCALAR,Node.con(dsp_file_ptr._val),null);
+    ParmNode parm_dsp = new ParmNode(DSP_IDX,"^"  ,fun,Type.SCALAR,Node.con(dsp_file_ptr._val),0);
     gvn.xform(parm_dsp.add_def(dsp_file_ptr));
     // Close the function up
     RetNode ret = gvn.init(new RetNode(fun,parm_mem,parm_dsp,rpc,fun));
@@ -530,7 +530,7 @@ public class TestNodeSmall {
     dsp_file.create("fact",fptr,Access.Final);
     dsp_file.no_more_fields();
     // Return the fptr to keep all alive
-    ScopeNode env = new ScopeNode(null,true);
+    ScopeNode env = new ScopeNode(0,true);
     env.set_ctrl(ctl);
     env.set_ptr (dsp_file_ptr);
     env.set_mem (dsp_file_obj);
@@ -564,6 +564,199 @@ public class TestNodeSmall {
   }
 
 
+  // Local escape analysis on an allocation's pointer uses
+  @Test public void testNoEscape() {
+    Env top = Env.top_scope();
+    GVNGCM gvn = Env.GVN;
+    gvn._opt_mode=GVNGCM.Mode.Parse;
+    Node ctl = Node.con(Type.CTRL);
+    Node mem = Node.con(TypeMem.ANYMEM);
+    Node val = Node.con(TypeInt.con(5));
+    NewObjNode nnn = new NewObjNode(false,TypeMemPtr.DISPLAY,Node.con(Type.NIL));
+    nnn.create_active("x",val,Access.RW);
+    nnn.no_more_fields();
+    MrgProjNode omem = new MrgProjNode(nnn,mem);
+    ProjNode ptr = new ProjNode(REZ_IDX,nnn);
+    assertTrue(NewNode.no_escape(ptr));
+
+    // Nil-checks, and the address of Loads and Stores, do not escape
+    new IfNode(ctl,ptr);
+    new LoadNode(omem,ptr,"x",0);
+    Node st = new StoreNode(omem,ptr,val,Access.RW,"x",0);
+    CastNode cast = new CastNode(ctl,ptr,Type.SCALAR);
+    new LoadNode(st,cast,"x",0);
+    assertTrue(NewNode.no_escape(ptr));
+
+    // Kept alive by the parser, e.g. a display still being built
+    ptr.keep();
+    assertTrue(!NewNode.no_escape(ptr));
+    ptr.unkeep();
+    cast.keep();
+    assertTrue(!NewNode.no_escape(ptr));
+    cast.unkeep();
+    assertTrue(NewNode.no_escape(ptr));
+
+    // Stored as a value into memory
+    NewObjNode nnn2 = new NewObjNode(false,TypeMemPtr.DISPLAY,Node.con(Type.NIL));
+    nnn2.create_active("y",Node.con(Type.XNIL),Access.RW);
+    nnn2.no_more_fields();
+    Node st2 = new StoreNode(omem,new ProjNode(REZ_IDX,nnn2),ptr,Access.RW,"y",0);
+    assertTrue(!NewNode.no_escape(ptr));
+    st2.kill();
+    assertTrue(NewNode.no_escape(ptr));
+
+    // Passed to a Call, through a Cast
+    Node call = new CallNode(false,null,ctl,omem,Node.con(Type.ANY),cast,Node.con(TypeFunPtr.GENERIC_FUNPTR));
+    assertTrue(!NewNode.no_escape(ptr));
+    call.kill();
+    assertTrue(NewNode.no_escape(ptr));
+
+    // The memory projection is not a pointer
+    assertTrue(!NewNode.no_escape(omem));
+  }
+
+  // Type-specialization cache: clones are reused, and all clones of one
+  // original share one budget
+  @Test public void testTypeSpecials() {
+    Env.top_scope();
+    Env.GVN._opt_mode=GVNGCM.Mode.Parse;
+    Node ctl = Node.con(Type.CTRL);
+    TypeStruct formals = TypeStruct.make(TypeFld.make(" mem",TypeMem.MEM,MEM_IDX),
+                                         TypeFld.make("^",TypeMemPtr.DISP_SIMPLE,DSP_IDX),
+                                         TypeFld.make("x",Type.SCALAR,ARG_IDX));
+    FunNode fun = new FunNode(null,TypeFunSig.make(formals,TypeTuple.RET),-1,false);
+    fun.add_def(ctl);
+    TypeStruct[] fs = new TypeStruct[FunNode.MAX_TYPE_SPECIALS];
+    for( int i=0; i<fs.length; i++ )
+      fs[i] = formals.replace_fld(TypeFld.make("x",TypeInt.con(i+1),ARG_IDX));
+
+    // Reuse the clone for a repeated specialization
+    FunNode[] clones = new FunNode[fs.length];
+    clones[0] = special(fun,fs[0]);
+    assertTrue(clones[0]==fun.find_special(fs[0]));
+    assertTrue(fun.find_special(fs[1])==null);
+    // Split from the original and from the clones alike; each clone gets a
+    // fresh clone count, but the budget is shared
+    for( int i=1; i<FunNode.MAX_TYPE_SPECIALS; i++ ) {
+      assertTrue(!fun.over_special_budget());
+      clones[i] = special((i&1)==0 ? fun : clones[i-1],fs[i]);
+    }
+    for( int i=0; i<FunNode.MAX_TYPE_SPECIALS; i++ ) {
+      assertTrue(clones[i]==clones[FunNode.MAX_TYPE_SPECIALS-1].find_special(fs[i]));
+      assertTrue(clones[i].over_special_budget());
+    }
+    assertTrue(fun.over_special_budget());
+    // A dead clone is stale
+    clones[0].unkeep().kill();
+    assertTrue(fun.find_special(fs[0])==null);
+  }
+  // Split fun into itself and a new type-specialized clone, as ideal_inline does
+  private static FunNode special( FunNode fun, TypeStruct formals ) {
+    int oldfidx = fun._fidx;
+    FunNode clone = new FunNode(null,TypeFunSig.make(formals,fun._sig._ret),-1,false);
+    clone.add_def(fun.in(1));
+    clone._fidx = BitsFun.new_fidx(oldfidx);
+    fun  ._fidx = BitsFun.new_fidx(oldfidx);
+    fun.record_special(oldfidx,formals,clone);
+    return clone;
+  }
+
+  // Combo work is pulled callees-first by call-graph SCC, with top-level
+  // code last.  Call graph: top -> g -> f, and f -> f.
+  @Test public void testSCCWork() {
+    Env.top_scope();
+    Env.GVN._opt_mode=GVNGCM.Mode.Parse;
+    Node ctl = Node.con(Type.CTRL);
+    TypeStruct formals = TypeStruct.make(TypeFld.make(" mem",TypeMem.MEM,MEM_IDX),
+                                         TypeFld.make("^",TypeMemPtr.DISP_SIMPLE,DSP_IDX));
+    FunNode f = new FunNode(null,TypeFunSig.make(formals,TypeTuple.RET),-1,false);
+    FunNode g = new FunNode(null,TypeFunSig.make(formals,TypeTuple.RET),-1,false);
+    f.add_def(ctl);  g.add_def(ctl);
+    RetNode fret = new RetNode(f,Node.con(TypeMem.ANYMEM),Node.con(Type.ANY),Node.con(TypeRPC.ALL_CALL),f);
+    RetNode gret = new RetNode(g,Node.con(TypeMem.ANYMEM),Node.con(Type.ANY),Node.con(TypeRPC.ALL_CALL),g);
+    CallNode fcall = new CallNode(true,null,f  ,null,null,null);
+    CallNode gcall = new CallNode(true,null,g  ,null,null,null);
+    CallNode tcall = new CallNode(true,null,ctl,null,null,null);
+    new CallEpiNode(fcall,Env.DEFMEM,fret); // f calls f
+    new CallEpiNode(gcall,Env.DEFMEM,fret); // g calls f
+    new CallEpiNode(tcall,Env.DEFMEM,gret); // top calls g
+
+    SCCWork work = new SCCWork("SCC");
+    work.init();
+    work.add(fcall);  work.add(fret );  work.add(gret );
+    work.add(tcall);  work.add(gcall); // Not LIFO order
+    assertEquals(5,work.len());
+    Node[] pops = new Node[5];
+    for( int i=0; i<5; i++ ) pops[i] = work.pop();
+    assertTrue(work.pop()==null && work.isEmpty());
+    assertTrue((pops[0]==fcall && pops[1]==fret) || (pops[0]==fret && pops[1]==fcall));
+    assertTrue((pops[2]==gcall && pops[3]==gret) || (pops[2]==gret && pops[3]==gcall));
+    assertTrue(pops[4]==tcall);
+
+    // Delete, from the same bucket and not
+    Node fmem = fret.in(MEM_IDX), fval = fret.in(REZ_IDX);
+    work.add(fcall);  work.add(fmem);  work.add(fret);  work.add(fval);
+    work.del(fmem);  work.del(fmem);
+    assertEquals(3,work.len());
+    work.del(fval);
+    work.add(fmem);
+    assertTrue(!work.on(fval) && work.on(fmem));
+    int cnt=0;
+    for( Node n; (n=work.pop())!=null; cnt++ ) assertTrue(n==fcall || n==fret || n==fmem);
+    assertEquals(3,cnt);
+
+    // Positions run bucket by bucket
+    work.add(tcall);  work.add(fcall);
+    assertTrue(work.at(0)==fcall && work.at(1)==tcall);
+    work.del(0);
+    assertTrue(!work.on(fcall) && work.pop()==tcall && work.isEmpty());
+  }
+
+  // Inline work pops the cheapest function bodies first, and functions with
+  // no body yet last
+  @Test public void testInlineWork() {
+    Env.top_scope();
+    Env.GVN._opt_mode=GVNGCM.Mode.Parse;
+    Node ctl = Node.con(Type.CTRL);
+    FunNode f6 = inline_body(ctl,2), f0 = inline_body(ctl,0), f9 = inline_body(ctl,3), f3 = inline_body(ctl,1);
+    FunNode fx = new FunNode(null,TypeFunSig.make(TypeStruct.NO_ARGS,TypeTuple.RET),-1,false); // No RetNode
+    fx.add_def(ctl);
+    assertEquals(0,f0.inline_cost());
+    assertEquals(9,f9.inline_cost());
+    InlineWork work = new InlineWork();
+    work.add(f6);  work.add(f0);  work.add(fx);  work.add(f9);  work.add(f3);  work.add(f0);
+    assertEquals(5,work.len());
+    assertTrue(work.pop()==f0);
+    assertTrue(work.pop()==f3);
+    work.add(f0);
+    assertTrue(work.pop()==f0);
+    assertTrue(work.pop()==f6);
+    assertTrue(work.pop()==f9);
+    assertTrue(work.pop()==fx);
+    assertTrue(work.pop()==null && work.isEmpty());
+    // Deleting from the middle keeps the heap order
+    work.add(f6);  work.add(f0);  work.add(fx);  work.add(f9);  work.add(f3);
+    work.del(f3);  work.del(f3);
+    work.del(f0);
+    assertEquals(3,work.len());
+    assertTrue(work.pop()==f6);
+    work.add(f0);
+    assertTrue(work.pop()==f0);
+    assertTrue(work.pop()==f9);
+    assertTrue(work.pop()==fx);
+    assertTrue(work.isEmpty());
+  }
+  // A function body of a chain of If nodes, each costing 3
+  private static FunNode inline_body( Node ctl, int nifs ) {
+    FunNode fun = new FunNode(null,TypeFunSig.make(TypeStruct.NO_ARGS,TypeTuple.RET),-1,false);
+    fun.add_def(ctl);
+    Node c = fun;
+    for( int i=0; i<nifs; i++ )
+      c = new CProjNode(new IfNode(c,Node.con(TypeInt.BOOL)),1);
+    new RetNode(c,Node.con(TypeMem.ANYMEM),Node.con(Type.ANY),Node.con(TypeRPC.ALL_CALL),fun);
+    return fun;
+  }
+
   // Memory checks args "just like" normal args, except it changes contents of
   // memory to match incoming args.
   //
@@ -586,6 +779,19 @@ public class TestNodeSmall {
   // bounds, and always monotonic, and preserves shape if in-bounds.
 
   private static int ERR=0;
+  // Errors dedup on their printed text, whatever their class
+  @Test public void testErrMsgDedup() {
+    Node.ErrMsg t0 = Node.ErrMsg.typerr(123,TypeInt.INT64,TypeMem.ALLMEM,TypeInt.BOOL);
+    Node.ErrMsg t1 = Node.ErrMsg.typerr(123,TypeInt.INT64,TypeMem.ANYMEM,TypeInt.BOOL); // Memory does not print for an int
+    Node.ErrMsg t2 = Node.ErrMsg.typerr(123,TypeInt.INT64,TypeMem.ALLMEM,TypeInt.INT8);
+    Node.ErrMsg e0 = new Node.ErrMsg(123,t1.msg(),Node.Level.TypeErr);
+    assertTrue(t0.equals(e0) && e0.equals(t0) && t0.hashCode()==e0.hashCode());
+    assertTrue(t0.equals(t1) && t0.hashCode()==t1.hashCode());
+    assertTrue(!t0.equals(t2) && !t2.equals(e0));
+    HashSet<Node.ErrMsg> errs = new HashSet<>(Arrays.asList(t0,t1,t2,e0));
+    assertEquals(2,errs.size());
+  }
+
   @Test public void testMemoryArgs() {
     Env top = Env.top_scope();
     GVNGCM gvn = Env.GVN;
@@ -692,9 +898,9 @@ public class TestNodeSmall {
     FunNode fun = new FunNode(null,tsig,-1,false).unkeep();
     gvn.xform(fun.add_def(cpj));
 
-    ParmNode parmem= gvn.init(new ParmNode(MEM_IDX," mem",fun,mem .unkeep(2),null)).unkeep(2);
-    ParmNode parm1 = gvn.init(new ParmNode(ARG_IDX,  "x" ,fun,arg1.unkeep(2),null)).unkeep(2);
-    ParmNode parm2 = gvn.init(new ParmNode(ARG_IDX+1,"y" ,fun,arg2.unkeep(2),null)).unkeep(2);
+    ParmNode parmem= gvn.init(new ParmNode(MEM_IDX," mem",fun,mem .unkeep(2),0)).unkeep(2);
+    ParmNode parm1 = gvn.init(new ParmNode(ARG_IDX,  "x" ,fun,arg1.unkeep(2),0)).unkeep(2);
+    ParmNode parm2 = gvn.init(new ParmNode(ARG_IDX+1,"y" ,fun,arg2.unkeep(2),0)).unkeep(2);
 
     // Types for normal args before memory type
     Type tpm = parmem.xval();
@@ -723,4 +723,37 @@ public class TestApprox {
     TypeStruct rez = dsp2.approx(CUTOFF,alias);
     assertEquals(dsp3,rez);
   }
+
+  // Deep recursive structs: a linked list grown one link at a time, as GCP
+  // grows a list built in a loop.  Approximating each step settles to a fixed
+  // cycle within the cutoff depth; approximating the whole list at once stays
+  // within the cutoff too.  Deep lists are the expensive case for approx, so
+  // DEPTH doubles as a benchmark knob.
+  @Test public void testApproxDeep() {
+    Object dummy = TypeMemPtr.TYPES; // <clinit> before RECURSIVE_MEET
+    final int CUTOFF = 2, DEPTH = 200;
+    int alias = BitsAlias.new_alias(BitsAlias.REC);
+
+    Type raw = Type.XNIL, apx = Type.XNIL;
+    TypeStruct[] last = new TypeStruct[4]; // Top-level 'b' cycles with period 4
+    int stable = 0;
+    for( int i=0; i<DEPTH; i++ ) {
+      TypeInt b = TypeInt.con(i&3);
+      raw = TypeMemPtr.make(alias,TypeStruct.make(TypeFld.make("a",raw,TypeFld.oBot),TypeFld.make("b",b,TypeFld.oBot)));
+      TypeStruct ts = TypeStruct.make(TypeFld.make("a",apx,TypeFld.oBot),TypeFld.make("b",b,TypeFld.oBot));
+      TypeStruct ax = ts.approx(CUTOFF,alias);
+      assertSame(ax,ts.approx(CUTOFF,alias));
+      assertTrue(ts.isa(ax));
+      TypeMemPtr pax = TypeMemPtr.make(alias,ax);
+      assertTrue(TypeMemPtr.max(alias,pax.depth()) <= CUTOFF);
+      if( ax==last[i&3] ) stable++;
+      last[i&3] = ax;
+      apx = pax;
+    }
+    assertTrue(stable > DEPTH-10); // Settled early
+
+    TypeStruct rax = ((TypeStruct)((TypeMemPtr)raw)._obj).approx(CUTOFF,alias);
+    assertTrue(((TypeMemPtr)raw)._obj.isa(rax));
+    assertTrue(TypeMemPtr.max(alias,TypeMemPtr.make(alias,rax).depth()) <= CUTOFF);
+  }
 }
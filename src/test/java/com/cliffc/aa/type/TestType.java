@@ -8,6 +8,7 @@ import java.util.HashMap;
 
 import static com.cliffc.aa.type.TypeMemPtr.NO_DISP;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 
@@ -282,6 +283,52 @@ public class TestType {
     assertTrue(ld.isa(ax));
   }
 
+  // Sharpening the same dull pointer against a memory changed only at an
+  // unrelated alias gives the same answer; a change it reads does not.
+  @Test public void testSharpen() {
+    int alias1 = BitsAlias.type_alias(BitsAlias.REC);
+    int alias2 = BitsAlias.type_alias(BitsAlias.REC);
+    int alias3 = BitsAlias.type_alias(BitsAlias.REC);
+    TypeStruct a2 = TypeStruct.make("x",TypeInt.TRUE, TypeFld.Access.Final); // @{x:1}
+    TypeStruct a1 = TypeStruct.make("c",TypeMemPtr.make(alias2,TypeObj.ISUSED), TypeFld.Access.Final); // @{c:*[2]}
+    Ary<TypeObj> tos = new Ary<>(TypeObj.class);
+    tos.setX(BitsAlias.ALL,TypeObj.OBJ);
+    tos.setX(alias1,a1);
+    tos.setX(alias2,a2);
+    TypeMem mem = TypeMem.make0(tos.asAry());
+    TypeMemPtr dull = TypeMemPtr.make(alias1,TypeObj.ISUSED);
+    TypeMemPtr sharp = mem.sharpen(dull); // *[1]@{c:*[2]@{x:1}}
+    assertSame(a2,((TypeMemPtr)((TypeStruct)sharp._obj).at("c"))._obj);
+
+    TypeMem mem3 = mem.set(alias3,TypeStruct.make("y",TypeInt.INT64, TypeFld.Access.Final));
+    assertSame(sharp,mem3.sharpen(dull));
+
+    TypeStruct b2 = TypeStruct.make("x",TypeInt.con(2), TypeFld.Access.Final); // @{x:2}
+    TypeMemPtr sharp2 = mem.set(alias2,b2).sharpen(dull);
+    assertSame(b2,((TypeMemPtr)((TypeStruct)sharp2._obj).at("c"))._obj);
+    assertSame(sharp,mem.sharpen(dull));
+  }
+
+  // Type[] interning from several threads: all get the same array for the
+  // same Types in the same order, and a different one for a permutation.
+  @Test public void testTypesIntern() throws InterruptedException {
+    Type[] ts = new Type[]{TypeInt.INT64,TypeFlt.FLT64,Type.SCALAR,TypeInt.BOOL};
+    Type[][] rez = new Type[8][];
+    Thread[] thrs = new Thread[rez.length];
+    for( int i=0; i<thrs.length; i++ ) {
+      final int x = i;
+      thrs[i] = new Thread(() -> {
+          for( int j=0; j<1000; j++ )
+            rez[x] = Types.hash_cons(Types.ts(ts[0],ts[1],ts[2],ts[3]));
+        });
+    }
+    for( Thread t : thrs ) t.start();
+    for( Thread t : thrs ) t.join();
+    for( Type[] r : rez ) assertSame(rez[0],r);
+    Type[] perm = Types.hash_cons(Types.ts(ts[1],ts[0],ts[2],ts[3]));
+    assertTrue(rez[0]!=perm);
+    assertSame(perm,Types.hash_cons(Types.ts(ts[1],ts[0],ts[2],ts[3])));
+  }
 
   @Test public void testFunction() {
     PrimNode[] ignore2 = PrimNode.PRIMS(); // Force node
@@ -468,6 +515,37 @@ public class TestType {
     assertEquals(smt,mx);
   }
 
+  // An unrolled cycle installs as its minimal cycle
+  @Test public void testUnrolledCycle() {
+    Object dummy0 = TypeMemPtr.DISPLAY_PTR; // Must <clinit> out of RECURSIVE_MEET
+    final int alias = BitsAlias.new_alias(BitsAlias.REC);
+    TypeFld fldvi = TypeFld.make("v",TypeInt.INT64);
+    TypeFld fldvf = TypeFld.make("v",TypeFlt.FLT64);
+    TypeStruct ts1 = ring(alias,fldvi,fldvi,1); // @{n=*$, v=int64}
+    for( int n : new int[]{2,3,7,100} )
+      assertEquals(ts1,ring(alias,fldvi,fldvi,n));
+    TypeStruct ts2 = ring(alias,fldvi,fldvf,2); // Alternating int and flt
+    assertTrue(ts2 != ts1);
+    assertEquals(ts2,ring(alias,fldvi,fldvf,6));
+    assertEquals(ts2,ring(alias,fldvi,fldvf,100));
+    TypeStruct ts2n = (TypeStruct)((TypeMemPtr)ts2.at("n"))._obj;
+    assertEquals(fldvf._t,ts2n.at("v"));
+    assertEquals(ts2,((TypeMemPtr)ts2n.at("n"))._obj);
+  }
+  // Ring of n structs, each pointing to the next; 'v' fields alternate
+  private static TypeStruct ring( int alias, TypeFld v0, TypeFld v1, int n ) {
+    Type.RECURSIVE_MEET++;
+    TypeFld[] fns = new TypeFld[n];
+    TypeStruct[] tss = new TypeStruct[n];
+    for( int i=0; i<n; i++ ) {
+      fns[i] = TypeFld.malloc("n");
+      tss[i] = TypeStruct.malloc("",false,true,fns[i],(i&1)==0 ? v0 : v1).set_hash();
+    }
+    for( int i=0; i<n; i++ ) fns[i].setX(TypeMemPtr.make(alias,tss[(i+1)%n]));
+    Type.RECURSIVE_MEET--;
+    return tss[0].install();
+  }
+
   @Test public void testLoad() {
     Object dummy0 = TypeStruct.TYPES;
     // All are ISA